@@ -0,0 +1,25 @@
+package com.example.ejercicio.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Acceso por reflexión a los campos inyectados, para usar servicios en benchmarks sin iniciar Spring.
+ */
+final class Campos {
+
+    private Campos() {
+    }
+
+    static void asignar(Object destino, String nombre, Object valor) throws ReflectiveOperationException {
+        Field campo = destino.getClass().getDeclaredField(nombre);
+        campo.setAccessible(true);
+        campo.set(destino, valor);
+    }
+
+    static void invocar(Object destino, String nombre) throws ReflectiveOperationException {
+        Method metodo = destino.getClass().getDeclaredMethod(nombre);
+        metodo.setAccessible(true);
+        metodo.invoke(destino);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo por hash de PasswordEncoderServiceImpl.encodePassword para varias fuerzas de BCrypt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CodificacionPasswordBenchmark {
+
+    @Param({"10", "12"})
+    private int fuerza;
+
+    private PasswordEncoderServiceImpl passwordEncoder;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        passwordEncoder = new PasswordEncoderServiceImpl(new BCryptPasswordEncoder(fuerza));
+    }
+
+    @Benchmark
+    public String encodePassword() {
+        return passwordEncoder.encodePassword("Clave#2024x");
+    }
+}
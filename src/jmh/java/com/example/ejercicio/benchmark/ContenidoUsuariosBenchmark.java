@@ -0,0 +1,93 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.configure.ContenidoConfig;
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialización de la respuesta de findAll para 10.000 usuarios en JSON, CBOR y Smile, con y sin gzip.
+ * El tiempo por operación es el costo de CPU de codificar (y comprimir) la lista; los bytes que viajan
+ * por la red se imprimen al preparar cada combinación, ya que no dependen de la iteración.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ContenidoUsuariosBenchmark {
+
+    private static final int CANTIDAD = 10_000;
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    @Param({"ninguna", "gzip"})
+    private String compresion;
+
+    private ObjectMapper objectMapper;
+
+    private List<CreateResponseDTO> respuestas;
+
+    // Tamaño de la última salida, para dimensionar el búfer y no medir sus ampliaciones.
+    private int tamanoEsperado;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        ContenidoConfig contenido = new ContenidoConfig();
+        objectMapper = switch (formato) {
+            // Igual que el ObjectMapper de Spring Boot: fechas como texto ISO.
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "cbor" -> contenido.conversorCbor(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            case "smile" -> contenido.conversorSmile(Jackson2ObjectMapperBuilder.json()).getObjectMapper();
+            default -> throw new IllegalArgumentException("Formato desconocido: " + formato);
+        };
+
+        LocalDateTime ahora = LocalDateTime.now();
+        respuestas = new ArrayList<>(CANTIDAD);
+        for (int i = 0; i < CANTIDAD; i++) {
+            respuestas.add(CreateResponseDTO.builder()
+                    .id(UUID.randomUUID())
+                    .nombre("Usuario " + i)
+                    .correo("usuario" + i + "@benchmark.org")
+                    .creado(ahora.minusMinutes(i))
+                    .ultimoLogin(ahora)
+                    .isActive(true)
+                    .build());
+        }
+
+        tamanoEsperado = 1024;
+        tamanoEsperado = serializar().length;
+        System.out.printf("%n%s/%s: %d bytes en la red para %d usuarios%n", formato, compresion, tamanoEsperado, CANTIDAD);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tamanoEsperado);
+        // Gzip con el nivel por defecto del Deflater, el mismo que usa la compresión de Tomcat.
+        try (OutputStream salida = "gzip".equals(compresion) ? new GZIPOutputStream(bytes) : bytes) {
+            objectMapper.writeValue(salida, respuestas);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.EjercicioApplication;
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilidades compartidas por los benchmarks que necesitan el contexto completo de la aplicación.
+ */
+final class ContextoBenchmark {
+
+    private ContextoBenchmark() {
+    }
+
+    /**
+     * Inicia la aplicación en un puerto aleatorio con una base de datos H2 propia del benchmark.
+     *
+     * @param nombreBaseDatos el nombre de la base de datos en memoria
+     * @return el contexto iniciado
+     */
+    static ConfigurableApplicationContext iniciar(String nombreBaseDatos) {
+        return new SpringApplicationBuilder(EjercicioApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:" + nombreBaseDatos + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.open-in-view=false",
+                        "--logging.level.root=WARN");
+    }
+
+    /**
+     * Inserta usuarios sintéticos directamente por el repositorio, sin pasar por BCrypt.
+     *
+     * @param repositorio el repositorio de usuarios
+     * @param cantidad el número de usuarios a insertar
+     */
+    static void poblarUsuarios(UsuarioRepository repositorio, int cantidad) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Usuario> lote = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            lote.add(Usuario.builder()
+                    .nombre("Usuario " + i)
+                    .correo("usuario" + i + "@benchmark.org")
+                    .password("$2a$10$abcdefghijklmnopqrstuuABCDEFGHIJKLMNOPQRSTUVWXYZ01234")
+                    .activo(true)
+                    .creado(ahora.plusNanos(i * 1000L))
+                    .ultimoLogin(ahora)
+                    .build());
+            if (lote.size() == 1000) {
+                repositorio.saveAll(lote);
+                lote.clear();
+            }
+        }
+        repositorio.saveAll(lote);
+    }
+}
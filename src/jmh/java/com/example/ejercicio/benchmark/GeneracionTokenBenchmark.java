@@ -0,0 +1,43 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.util.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens generados por segundo con los reclamos de sesión que emite el login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeneracionTokenBenchmark {
+
+    private JwtService jwtService;
+
+    private Usuario usuario;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        jwtService = VerificacionTokenBenchmark.crearJwtService();
+        usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .correo("juan@rodriguez.org")
+                .activo(true)
+                .build();
+    }
+
+    @Benchmark
+    public String conClaimsDeSesion() {
+        return jwtService.generarToken(usuario);
+    }
+}
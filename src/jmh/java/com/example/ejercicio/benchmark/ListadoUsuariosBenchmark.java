@@ -0,0 +1,74 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.repository.UsuarioRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compara el listado de usuarios construyendo entidades gestionadas y mapeándolas al DTO
+ * contra la proyección directa al DTO. Con el perfil gc de JMH se obtiene además
+ * la memoria asignada por operación (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListadoUsuariosBenchmark {
+
+    @Param({"1000", "10000"})
+    private int usuarios;
+
+    private ConfigurableApplicationContext contexto;
+
+    private UsuarioRepository usuarioRepository;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("listado" + usuarios);
+        usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        ContextoBenchmark.poblarUsuarios(usuarioRepository, usuarios);
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    /**
+     * Camino original: entidades completas y copia de los campos al DTO.
+     */
+    @Benchmark
+    public List<CreateResponseDTO> entidades() {
+        return usuarioRepository.findAll().stream()
+                .map(usuario -> CreateResponseDTO.builder()
+                        .id(usuario.getId())
+                        .nombre(usuario.getNombre())
+                        .correo(usuario.getCorreo())
+                        .creado(usuario.getCreado())
+                        .ultimoLogin(usuario.getUltimoLogin())
+                        .isActive(usuario.isActivo())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Camino de solo lectura: la consulta construye el DTO directamente.
+     */
+    @Benchmark
+    public List<CreateResponseDTO> proyeccion() {
+        return usuarioRepository.buscarTodosComoDTO();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.util.UsuarioMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de armar la respuesta de findAll: conversión de entidades a CreateResponseDTO y
+ * serialización JSON de la lista con un ObjectMapper configurado como el de Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RespuestaUsuariosBenchmark {
+
+    @Param({"100", "10000"})
+    private int cantidad;
+
+    private final UsuarioMapper usuarioMapper = new UsuarioMapper();
+
+    private ObjectMapper objectMapper;
+
+    private List<Usuario> usuarios;
+
+    private List<CreateResponseDTO> respuestas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime ahora = LocalDateTime.now();
+        usuarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            usuarios.add(Usuario.builder()
+                    .id(UUID.randomUUID())
+                    .nombre("Usuario " + i)
+                    .correo("usuario" + i + "@benchmark.org")
+                    .creado(ahora)
+                    .ultimoLogin(ahora)
+                    .activo(true)
+                    .build());
+        }
+        respuestas = mapear();
+    }
+
+    @Benchmark
+    public List<CreateResponseDTO> mapear() {
+        List<CreateResponseDTO> resultado = new ArrayList<>(usuarios.size());
+        for (Usuario usuario : usuarios) {
+            resultado.add(usuarioMapper.construirResponseDTO(usuario));
+        }
+        return resultado;
+    }
+
+    @Benchmark
+    public byte[] serializar() throws Exception {
+        return objectMapper.writeValueAsBytes(respuestas);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.util.ValidadorUsuarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Validaciones de contraseña por segundo: Pattern.matches recompilando la expresión en cada llamada
+ * (el camino original), la expresión precompilada y el verificador de una sola pasada.
+ * La equivalencia entre el verificador y la expresión la comprueba ValidadorUsuarioServiceTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValidacionBenchmark {
+
+    // Longitud de la contraseña medida; las largas fuerzan el retroceso de los lookaheads.
+    @Param({"12", "256"})
+    private int longitud;
+
+    private String password;
+
+    private Pattern patronPassword;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        patronPassword = Pattern.compile(ValidadorUsuarioService.PASSWORD_REGEX_POR_DEFECTO);
+        // Solo al final aparece el carácter especial, el peor caso para los lookaheads.
+        password = "Ab1" + "x".repeat(Math.max(0, longitud - 4)) + "!";
+    }
+
+    @Benchmark
+    public boolean recompilando() {
+        return Pattern.matches(ValidadorUsuarioService.PASSWORD_REGEX_POR_DEFECTO, password);
+    }
+
+    @Benchmark
+    public boolean precompilada() {
+        return patronPassword.matcher(password).matches();
+    }
+
+    @Benchmark
+    public boolean unaPasada() {
+        return ValidadorUsuarioService.passwordValidaUnaPasada(password);
+    }
+}
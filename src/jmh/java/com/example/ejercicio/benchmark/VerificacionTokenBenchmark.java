@@ -0,0 +1,89 @@
+package com.example.ejercicio.benchmark;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.TokenVerificado;
+import com.example.ejercicio.util.VersionSeguridadService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verificados por segundo: el camino anterior del filtro (tres análisis con el secreto
+ * en Base64 decodificado en cada uno) frente a la verificación única con clave y parser precalculados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VerificacionTokenBenchmark {
+
+    static final String SECRETO = "5r8wU2Xk/rL2z7yPj9qEaGv1i3bT6dF4o0cZ7uJ8nK9mQ5xR3yV2wA1pE6sI4jH0g";
+
+    private JwtService jwtService;
+
+    private String token;
+
+    private UserDetails userDetails;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        jwtService = crearJwtService();
+        Usuario usuario = Usuario.builder()
+                .id(UUID.randomUUID())
+                .correo("juan@rodriguez.org")
+                .activo(true)
+                .build();
+        token = jwtService.generarToken(usuario);
+        userDetails = new User(usuario.getCorreo(), "", Collections.emptyList());
+    }
+
+    /**
+     * Réplica del flujo original: extraerUsername en el filtro y luego isTokenValido,
+     * que vuelve a analizar el token para el sujeto y para la expiración.
+     */
+    @Benchmark
+    public boolean anterior() {
+        String username = analizar(token).getSubject();
+        boolean mismoUsuario = analizar(token).getSubject().equals(userDetails.getUsername());
+        boolean vigente = !analizar(token).getExpiration().before(new Date());
+        return username != null && mismoUsuario && vigente;
+    }
+
+    /**
+     * Verificación única con clave y parser reutilizables.
+     */
+    @Benchmark
+    public boolean verificacionUnica() {
+        TokenVerificado verificado = jwtService.verificar(token);
+        return jwtService.isTokenValido(verificado, userDetails);
+    }
+
+    private static Claims analizar(String token) {
+        return Jwts.parser().setSigningKey(SECRETO).parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Construye el servicio fuera del contexto de Spring, asignando los campos que este inyectaría.
+     */
+    static JwtService crearJwtService() throws Exception {
+        JwtService servicio = new JwtService();
+        Campos.asignar(servicio, "secret", SECRETO);
+        Campos.asignar(servicio, "versionSeguridadService", new VersionSeguridadService());
+        Campos.invocar(servicio, "inicializar");
+        return servicio;
+    }
+}
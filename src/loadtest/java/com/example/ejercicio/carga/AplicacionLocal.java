@@ -0,0 +1,89 @@
+package com.example.ejercicio.carga;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inicia la aplicación empaquetada en un proceso aparte, en un puerto libre, y la detiene al terminar.
+ */
+final class AplicacionLocal implements AutoCloseable {
+
+    private final Process proceso;
+    private final String urlBase;
+
+    private AplicacionLocal(Process proceso, int puerto) {
+        this.proceso = proceso;
+        this.urlBase = "http://localhost:" + puerto;
+    }
+
+    /**
+     * Inicia la aplicación y espera hasta que responda.
+     *
+     * @param jar el archivo bootJar
+     * @param argumentos argumentos adicionales de Spring Boot
+     * @return la aplicación iniciada
+     */
+    static AplicacionLocal iniciar(String jar, List<String> argumentos) throws IOException, InterruptedException {
+        int puerto = puertoLibre();
+        List<String> comando = new ArrayList<>();
+        comando.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        comando.add("-jar");
+        comando.add(jar);
+        comando.add("--server.port=" + puerto);
+        comando.add("--logging.level.root=WARN");
+        comando.addAll(argumentos);
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        AplicacionLocal aplicacion = new AplicacionLocal(proceso, puerto);
+        aplicacion.esperarDisponible();
+        return aplicacion;
+    }
+
+    String urlBase() {
+        return urlBase;
+    }
+
+    private void esperarDisponible() throws InterruptedException {
+        HttpClient cliente = HttpClient.newHttpClient();
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(urlBase + "/v3/api-docs"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long limite = System.nanoTime() + Duration.ofMinutes(2).toNanos();
+        while (System.nanoTime() < limite) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException("La aplicación terminó durante el arranque");
+            }
+            try {
+                if (cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Aún no acepta conexiones.
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("La aplicación no respondió en " + urlBase);
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        proceso.destroy();
+        proceso.waitFor();
+    }
+}
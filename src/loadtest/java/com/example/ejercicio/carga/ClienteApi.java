@@ -0,0 +1,171 @@
+package com.example.ejercicio.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cliente HTTP mínimo para los endpoints de la API, construido sobre el HttpClient del JDK.
+ */
+final class ClienteApi {
+
+    static final String PASSWORD = "Clave#2024x";
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    // Tiempo máximo de espera por respuesta; al vencer, la solicitud cuenta como error.
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    private final HttpClient cliente;
+    private final String urlBase;
+
+    ClienteApi(String urlBase) {
+        this.urlBase = urlBase;
+        this.cliente = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    static String correo(int indice) {
+        return "carga" + indice + "@carga.org";
+    }
+
+    /**
+     * Cuerpo JSON de un usuario con un teléfono, usado para crear, actualizar e importar.
+     */
+    static String usuarioJson(int indice) {
+        return "{\"nombre\":\"Usuario " + indice + "\",\"correo\":\"" + correo(indice) + "\","
+                + "\"password\":\"" + PASSWORD + "\",\"telefonos\":[{\"numero\":\"" + (1000000 + indice)
+                + "\",\"codigoCiudad\":\"1\",\"codigoPais\":\"57\"}]}";
+    }
+
+    /**
+     * Extrae el ID del usuario de una respuesta de creación o actualización.
+     */
+    static String extraerId(String cuerpo) {
+        Matcher matcher = ID.matcher(cuerpo);
+        if (!matcher.find()) {
+            throw new IllegalStateException("La respuesta no contiene el ID del usuario");
+        }
+        return matcher.group(1);
+    }
+
+    HttpResponse<String> crearUsuario(int indice) throws IOException, InterruptedException {
+        return enviar(post("/api/auth/create", usuarioJson(indice)));
+    }
+
+    HttpResponse<String> login(int indice) throws IOException, InterruptedException {
+        String cuerpo = "{\"correo\":\"" + correo(indice) + "\",\"password\":\"" + PASSWORD + "\"}";
+        return enviar(post("/api/auth/login", cuerpo));
+    }
+
+    HttpResponse<String> findAll(String token) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/findAll", token).GET().build());
+    }
+
+    HttpResponse<String> buscarPorId(String token, String id) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/" + id, token).GET().build());
+    }
+
+    /**
+     * Lee la respuesta de la ruta como un cliente lento, a lo sumo bytesPorSegundo, y retorna el código de estado.
+     * El HttpClient no pide más datos mientras no se lean, así que el servidor queda esperando al cliente.
+     */
+    int leerLento(String token, String ruta, int bytesPorSegundo) throws IOException, InterruptedException {
+        HttpResponse<InputStream> respuesta = cliente.send(
+                autenticada(ruta, token).timeout(Duration.ofMinutes(10)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        byte[] bloque = new byte[1024];
+        long pausaMs = Math.max(1, 1000L * bloque.length / bytesPorSegundo);
+        try (InputStream cuerpo = respuesta.body()) {
+            while (cuerpo.read(bloque) >= 0) {
+                Thread.sleep(pausaMs);
+            }
+        }
+        return respuesta.statusCode();
+    }
+
+    HttpResponse<String> findAllPagina(String token, int tamano) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/findAll?tamano=" + tamano, token).GET().build());
+    }
+
+    HttpResponse<String> actualizar(String token, String id, int indice) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/update/" + id, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(usuarioJson(indice)))
+                .build());
+    }
+
+    HttpResponse<String> parchar(String token, String id, String nombre) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/patch/" + id, token)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"nombre\":\"" + nombre + "\"}"))
+                .build());
+    }
+
+    HttpResponse<String> eliminar(String token, String id) throws IOException, InterruptedException {
+        return enviar(autenticada("/api/usuarios/delete/" + id, token).DELETE().build());
+    }
+
+    /**
+     * Importa en una sola solicitud los usuarios con índices en [desde, hasta), como NDJSON.
+     */
+    HttpResponse<String> importar(String token, int desde, int hasta) throws IOException, InterruptedException {
+        StringBuilder cuerpo = new StringBuilder();
+        for (int i = desde; i < hasta; i++) {
+            cuerpo.append(usuarioJson(i)).append('\n');
+        }
+        return enviar(autenticada("/api/usuarios/importar", token)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo.toString()))
+                .build());
+    }
+
+    /**
+     * Lee las métricas de la aplicación en formato Prometheus.
+     */
+    String metricas() throws IOException, InterruptedException {
+        return enviar(solicitud("/actuator/prometheus").GET().build()).body();
+    }
+
+    /**
+     * Inicia sesión y extrae el token de la respuesta.
+     */
+    String obtenerToken(int indice) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = login(indice);
+        Matcher matcher = TOKEN.matcher(respuesta.body());
+        if (respuesta.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("No se pudo iniciar sesión: " + respuesta.statusCode());
+        }
+        return matcher.group(1);
+    }
+
+    HttpResponse<String> enviar(HttpRequest solicitud) throws IOException, InterruptedException {
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+    }
+
+    HttpRequest.Builder solicitud(String ruta) {
+        return HttpRequest.newBuilder(URI.create(urlBase + ruta)).timeout(TIEMPO_MAXIMO);
+    }
+
+    private HttpRequest.Builder autenticada(String ruta, String token) {
+        return solicitud(ruta).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest post(String ruta, String cuerpo) {
+        return solicitud(ruta)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ejercicio.carga;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ejecuta la misma carga de login y findAll contra la aplicación con hilos de plataforma y con hilos
+ * virtuales, e imprime throughput y percentiles de cada combinación.
+ * La carga es en lazo abierto (GeneradorCargaAbierta): la tasa ofrecida es la misma en ambos modos aunque
+ * el servidor se atrase, y la latencia incluye el tiempo de espera de las solicitudes demoradas.
+ *
+ * Uso: ComparacionModosEjecucion &lt;ruta del bootJar&gt;, con las propiedades del sistema
+ * carga.tasa, carga.duracion-segundos, carga.calentamiento-segundos y carga.usuarios.
+ */
+public final class ComparacionModosEjecucion {
+
+    private ComparacionModosEjecucion() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String jar = args[0];
+        double tasa = Double.parseDouble(System.getProperty("carga.tasa", "100"));
+        int duracion = Integer.getInteger("carga.duracion-segundos", 30);
+        int calentamiento = Integer.getInteger("carga.calentamiento-segundos", 5);
+        int usuarios = Integer.getInteger("carga.usuarios", 1000);
+
+        List<String> filas = new ArrayList<>();
+        for (boolean virtuales : new boolean[]{false, true}) {
+            String modo = virtuales ? "virtual" : "plataforma";
+            try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar,
+                    List.of("--spring.threads.virtual.enabled=" + virtuales))) {
+                ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+                PruebaCarga.poblar(cliente, usuarios);
+                String token = cliente.obtenerToken(0);
+
+                GeneradorCargaAbierta.Operacion findAll = secuencia -> cliente.findAll(token);
+                GeneradorCargaAbierta.Operacion login =
+                        secuencia -> cliente.login(ThreadLocalRandom.current().nextInt(usuarios));
+                // Calentamiento corto antes de medir cada escenario.
+                GeneradorCargaAbierta.ejecutar(tasa, calentamiento, findAll);
+                filas.add(GeneradorCargaAbierta.ejecutar(tasa, duracion, findAll).resumen(modo + "/findAll"));
+                GeneradorCargaAbierta.ejecutar(tasa, calentamiento, login);
+                filas.add(GeneradorCargaAbierta.ejecutar(tasa, duracion, login).resumen(modo + "/login"));
+            }
+        }
+
+        System.out.println(GeneradorCargaAbierta.Resultado.encabezado());
+        filas.forEach(System.out::println);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.ejercicio.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga en lazo abierto: lanza solicitudes a una tasa fija, sin esperar a que terminen las anteriores.
+ * La latencia se mide desde el instante en que la solicitud debía salir, de modo que las demoras del servidor
+ * no reducen la carga ofrecida ni se ocultan en los percentiles (omisión coordinada).
+ */
+final class GeneradorCargaAbierta {
+
+    // Latencia máxima registrable en el histograma, en microsegundos.
+    private static final long LATENCIA_MAXIMA_US = TimeUnit.MINUTES.toMicros(5);
+
+    private GeneradorCargaAbierta() {
+    }
+
+    /**
+     * Ejecuta la operación a la tasa indicada durante el tiempo dado.
+     *
+     * @param tasa solicitudes por segundo
+     * @param segundos duración de la medición
+     * @param operacion la solicitud a enviar; recibe el número de secuencia de la llamada
+     * @return el histograma de latencias y los contadores de la ejecución
+     */
+    static Resultado ejecutar(double tasa, int segundos, Operacion operacion) {
+        Histogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_US, 3);
+        LongAdder errores = new LongAdder();
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / tasa);
+        long total = (long) (tasa * segundos);
+        long inicio = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long programado = inicio + i * intervalo;
+                esperarHasta(programado);
+                long secuencia = i;
+                executor.execute(() -> {
+                    int estado;
+                    try {
+                        estado = operacion.ejecutar(secuencia).statusCode();
+                    } catch (Exception e) {
+                        // Conexiones rechazadas, reiniciadas o sin respuesta a tiempo cuentan como error.
+                        estado = 599;
+                    }
+                    long latencia = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - programado);
+                    latencias.recordValue(Math.min(latencia, LATENCIA_MAXIMA_US));
+                    if (estado >= 400) {
+                        errores.increment();
+                    }
+                });
+            }
+        }
+        double transcurrido = (System.nanoTime() - inicio) / 1e9;
+        return new Resultado(tasa, latencias, errores.sum(), transcurrido);
+    }
+
+    private static void esperarHasta(long instante) {
+        long restante;
+        while ((restante = instante - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(restante);
+        }
+    }
+
+    @FunctionalInterface
+    interface Operacion {
+        HttpResponse<?> ejecutar(long secuencia) throws Exception;
+    }
+
+    /**
+     * Resultado de una ejecución: latencias en microsegundos, errores y duración real.
+     */
+    record Resultado(double tasa, Histogram latencias, long errores, double segundos) {
+
+        double throughput() {
+            return (latencias.getTotalCount() - errores) / segundos;
+        }
+
+        double percentilMs(double percentil) {
+            return latencias.getValueAtPercentile(percentil) / 1000.0;
+        }
+
+        String resumen(String escenario) {
+            return String.format(Locale.ROOT, "%-22s %8.1f %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d",
+                    escenario, tasa, throughput(), percentilMs(50), percentilMs(90), percentilMs(99),
+                    percentilMs(99.9), latencias.getMaxValue() / 1000.0, errores);
+        }
+
+        static String encabezado() {
+            return String.format(Locale.ROOT, "%-22s %8s %10s %9s %9s %9s %9s %9s %8s",
+                    "escenario", "tasa", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errores");
+        }
+
+        /**
+         * Escribe la distribución de percentiles en el formato .hgrm de HdrHistogram, en milisegundos.
+         */
+        void escribirDistribucion(PrintStream salida) {
+            latencias.outputPercentileDistribution(salida, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.ejercicio.carga;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta escenarios de carga en lazo abierto contra la aplicación empaquetada, cada uno sobre una instancia nueva,
+ * e imprime throughput y percentiles de latencia. Por escenario deja la distribución completa en formato .hgrm
+ * y agrega una fila a resumen.csv en el directorio de salida, para comparar la capacidad entre versiones.
+ *
+ * Escenarios: registro, login, crud, findall-creciente y consumidores-lentos.
+ *
+ * Uso: PruebaCarga &lt;ruta del bootJar&gt;, con las propiedades del sistema carga.escenarios, carga.tasa,
+ * carga.duracion-segundos, carga.calentamiento-segundos, carga.usuarios, carga.consumidores-lentos,
+ * carga.bytes-por-segundo y carga.salida.
+ */
+public final class PruebaCarga {
+
+    // Índices a partir de los cuales se crean usuarios durante la carga, para no chocar con los iniciales.
+    private static final int INDICE_NUEVOS = 10_000_000;
+
+    // Usuarios por solicitud de importación al hacer crecer la tabla.
+    private static final int LOTE_IMPORTACION = 1000;
+
+    // Hilos de Tomcat en el escenario de consumidores lentos, menos que los consumidores para que se note la retención.
+    private static final int HILOS_TOMCAT = 32;
+
+    // Listados comparados con consumidores lentos: el findAll original y el flujo reactivo.
+    private static final Map<String, String> LISTADOS = new LinkedHashMap<>(Map.of(
+            "findall", "/api/usuarios/findAll",
+            "reactivo", "/api/reactivo/usuarios"));
+
+    private final String jar;
+    private final double tasa;
+    private final int duracion;
+    private final int calentamiento;
+    private final int usuarios;
+    private final int consumidoresLentos;
+    private final int bytesPorSegundo;
+    private final Path salida;
+    private final List<String> filas = new ArrayList<>();
+
+    private PruebaCarga(String jar) {
+        this.jar = jar;
+        this.tasa = Double.parseDouble(System.getProperty("carga.tasa", "100"));
+        this.duracion = Integer.getInteger("carga.duracion-segundos", 30);
+        this.calentamiento = Integer.getInteger("carga.calentamiento-segundos", 5);
+        this.usuarios = Integer.getInteger("carga.usuarios", 1000);
+        this.consumidoresLentos = Integer.getInteger("carga.consumidores-lentos", 64);
+        this.bytesPorSegundo = Integer.getInteger("carga.bytes-por-segundo", 16384);
+        this.salida = Path.of(System.getProperty("carga.salida", "build/reports/carga"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        PruebaCarga prueba = new PruebaCarga(args[0]);
+        String escenarios = System.getProperty("carga.escenarios", "registro,login,crud,findall-creciente,consumidores-lentos");
+        Files.createDirectories(prueba.salida);
+
+        for (String escenario : escenarios.split(",")) {
+            switch (escenario.trim()) {
+                case "registro" -> prueba.registro();
+                case "login" -> prueba.login();
+                case "crud" -> prueba.crud();
+                case "findall-creciente" -> prueba.findAllCreciente();
+                case "consumidores-lentos" -> prueba.consumidoresLentos();
+                default -> throw new IllegalArgumentException("Escenario desconocido: " + escenario);
+            }
+        }
+
+        System.out.println(GeneradorCargaAbierta.Resultado.encabezado());
+        prueba.filas.forEach(System.out::println);
+    }
+
+    /**
+     * Ráfaga de registros: cada solicitud crea un usuario nuevo, incluido su hash BCrypt.
+     */
+    private void registro() throws Exception {
+        try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar, List.of())) {
+            ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+            AtomicInteger siguiente = new AtomicInteger(INDICE_NUEVOS);
+            medir("registro", secuencia -> cliente.crearUsuario(siguiente.getAndIncrement()));
+        }
+    }
+
+    /**
+     * Ráfaga de inicios de sesión sobre usuarios existentes elegidos al azar.
+     */
+    private void login() throws Exception {
+        try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar, List.of())) {
+            ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+            poblar(cliente, usuarios);
+            medir("login", secuencia -> cliente.login(ThreadLocalRandom.current().nextInt(usuarios)));
+        }
+    }
+
+    /**
+     * Carga mixta autenticada: 50% listado paginado, 20% PATCH, 15% PUT, 10% alta y 5% baja.
+     * Las bajas solo eliminan usuarios creados durante la carga; las modificaciones no tocan al usuario del token.
+     */
+    private void crud() throws Exception {
+        try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar, List.of())) {
+            ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+            List<String> ids = poblar(cliente, usuarios);
+            String token = cliente.obtenerToken(0);
+            AtomicInteger siguiente = new AtomicInteger(INDICE_NUEVOS);
+            ConcurrentLinkedDeque<String> creados = new ConcurrentLinkedDeque<>();
+
+            medir("crud", secuencia -> {
+                String id = ids.get(1 + ThreadLocalRandom.current().nextInt(ids.size() - 1));
+                int operacion = (int) (secuencia % 20);
+                if (operacion < 10) {
+                    return cliente.findAllPagina(token, 50);
+                } else if (operacion < 14) {
+                    return cliente.parchar(token, id, "Carga " + secuencia);
+                } else if (operacion < 17) {
+                    return cliente.actualizar(token, id, siguiente.getAndIncrement());
+                } else if (operacion < 19) {
+                    HttpResponse<String> respuesta = cliente.crearUsuario(siguiente.getAndIncrement());
+                    if (respuesta.statusCode() == 200) {
+                        creados.add(ClienteApi.extraerId(respuesta.body()));
+                    }
+                    return respuesta;
+                }
+                String creado = creados.pollFirst();
+                return creado == null ? cliente.findAllPagina(token, 50) : cliente.eliminar(token, creado);
+            });
+        }
+    }
+
+    /**
+     * findAll completo con la tabla en 1x, 2x, 4x y 8x carga.usuarios. La tabla crece con la importación
+     * en lote y BCrypt con la fuerza mínima, ya que aquí solo interesa el costo del listado.
+     */
+    private void findAllCreciente() throws Exception {
+        try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar,
+                List.of("--bcrypt.fuerza-minima=4", "--bcrypt.fuerza-maxima=4"))) {
+            ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+            cliente.crearUsuario(0);
+            String token = cliente.obtenerToken(0);
+            int actuales = 1;
+            for (int tamano = usuarios; tamano <= usuarios * 8; tamano *= 2) {
+                while (actuales < tamano) {
+                    int hasta = Math.min(tamano, actuales + LOTE_IMPORTACION);
+                    HttpResponse<String> respuesta = cliente.importar(token, actuales, hasta);
+                    if (respuesta.statusCode() != 200) {
+                        throw new IllegalStateException("La importación falló: " + respuesta.statusCode());
+                    }
+                    actuales = hasta;
+                }
+                medir("findall-n" + tamano, secuencia -> cliente.findAll(token));
+            }
+        }
+    }
+
+    /**
+     * Para cada listado, mantiene carga.consumidores-lentos clientes leyéndolo en bucle a carga.bytes-por-segundo
+     * y mide a la vez GET /api/usuarios/{id}. Con el findAll bloqueante cada cliente lento retiene un hilo de
+     * Tomcat durante toda la transferencia; con el flujo reactivo la escritura pasa al ejecutor asíncrono de MVC.
+     * Durante la medición se muestrea el máximo de hilos ocupados de Tomcat y de ese ejecutor, para ver dónde
+     * quedan retenidos los hilos en cada caso.
+     */
+    private void consumidoresLentos() throws Exception {
+        for (Map.Entry<String, String> listado : LISTADOS.entrySet()) {
+            try (AplicacionLocal aplicacion = AplicacionLocal.iniciar(jar, List.of(
+                    "--bcrypt.fuerza-minima=4", "--bcrypt.fuerza-maxima=4",
+                    "--server.tomcat.threads.max=" + HILOS_TOMCAT,
+                    // Publica tomcat.threads.busy en las métricas.
+                    "--server.tomcat.mbeanregistry.enabled=true"))) {
+                ClienteApi cliente = new ClienteApi(aplicacion.urlBase());
+                String id = ClienteApi.extraerId(cliente.crearUsuario(0).body());
+                String token = cliente.obtenerToken(0);
+                for (int desde = 1; desde < usuarios; desde += LOTE_IMPORTACION) {
+                    cliente.importar(token, desde, Math.min(usuarios, desde + LOTE_IMPORTACION));
+                }
+
+                AtomicBoolean detener = new AtomicBoolean();
+                AtomicInteger lecturas = new AtomicInteger();
+                AtomicInteger fallidas = new AtomicInteger();
+                ExecutorService lentos = Executors.newVirtualThreadPerTaskExecutor();
+                for (int i = 0; i < consumidoresLentos; i++) {
+                    lentos.execute(() -> {
+                        while (!detener.get()) {
+                            try {
+                                int estado = cliente.leerLento(token, listado.getValue(), bytesPorSegundo);
+                                (estado == 200 ? lecturas : fallidas).incrementAndGet();
+                            } catch (InterruptedException e) {
+                                return;
+                            } catch (Exception e) {
+                                fallidas.incrementAndGet();
+                            }
+                        }
+                    });
+                }
+                OcupacionHilos ocupacion = new OcupacionHilos(cliente);
+                try {
+                    medir("lentos-" + listado.getKey(), secuencia -> cliente.buscarPorId(token, id));
+                } finally {
+                    ocupacion.detener();
+                    detener.set(true);
+                    lentos.shutdownNow();
+                }
+                System.out.printf(Locale.ROOT, "lentos-%s: %d lecturas completas y %d fallidas del listado%n",
+                        listado.getKey(), lecturas.get(), fallidas.get());
+                System.out.printf(Locale.ROOT, "lentos-%s: máximo de %d hilos de Tomcat (de %d) y %d del ejecutor asíncrono de MVC ocupados%n",
+                        listado.getKey(), ocupacion.maximoTomcat(), HILOS_TOMCAT, ocupacion.maximoAsincrono());
+            }
+        }
+    }
+
+    /**
+     * Muestrea cada OcupacionHilos.INTERVALO_MS las métricas de la aplicación y conserva el máximo de hilos ocupados
+     * de Tomcat (tomcat.threads.busy) y del ejecutor asíncrono de MVC (executor.active de applicationTaskExecutor).
+     */
+    private static final class OcupacionHilos {
+
+        private static final long INTERVALO_MS = 250;
+
+        private static final Pattern TOMCAT = Pattern.compile("(?m)^tomcat_threads_busy_threads\\{[^}]*}\\s+(\\S+)");
+
+        private static final Pattern ASINCRONO = Pattern.compile(
+                "(?m)^executor_active_threads\\{[^}]*name=\"applicationTaskExecutor\"[^}]*}\\s+(\\S+)");
+
+        private final AtomicInteger maximoTomcat = new AtomicInteger();
+        private final AtomicInteger maximoAsincrono = new AtomicInteger();
+        private final Thread muestreo;
+
+        OcupacionHilos(ClienteApi cliente) {
+            this.muestreo = Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        try {
+                            String metricas = cliente.metricas();
+                            maximoTomcat.accumulateAndGet(leer(TOMCAT, metricas), Math::max);
+                            maximoAsincrono.accumulateAndGet(leer(ASINCRONO, metricas), Math::max);
+                        } catch (IOException e) {
+                            // Una muestra perdida no invalida el máximo.
+                        }
+                        Thread.sleep(INTERVALO_MS);
+                    }
+                } catch (InterruptedException e) {
+                    // Fin del muestreo.
+                }
+            });
+        }
+
+        private static int leer(Pattern patron, String metricas) {
+            Matcher matcher = patron.matcher(metricas);
+            return matcher.find() ? (int) Double.parseDouble(matcher.group(1)) : 0;
+        }
+
+        void detener() throws InterruptedException {
+            muestreo.interrupt();
+            muestreo.join();
+        }
+
+        int maximoTomcat() {
+            return maximoTomcat.get();
+        }
+
+        int maximoAsincrono() {
+            return maximoAsincrono.get();
+        }
+    }
+
+    /**
+     * Calienta y mide un escenario, registra su fila de resumen y guarda su distribución de latencias.
+     */
+    private void medir(String escenario, GeneradorCargaAbierta.Operacion operacion) throws IOException {
+        if (calentamiento > 0) {
+            GeneradorCargaAbierta.ejecutar(tasa, calentamiento, operacion);
+        }
+        GeneradorCargaAbierta.Resultado resultado = GeneradorCargaAbierta.ejecutar(tasa, duracion, operacion);
+        filas.add(resultado.resumen(escenario));
+        System.out.println(resultado.resumen(escenario));
+
+        try (PrintStream hgrm = new PrintStream(salida.resolve(escenario + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+            resultado.escribirDistribucion(hgrm);
+        }
+        Path resumen = salida.resolve("resumen.csv");
+        if (!Files.exists(resumen)) {
+            Files.writeString(resumen, "fecha,escenario,tasa,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,errores\n");
+        }
+        Files.writeString(resumen, String.format(Locale.ROOT, "%s,%s,%.1f,%.1f,%.2f,%.2f,%.2f,%.2f,%.2f,%d%n",
+                LocalDateTime.now(), escenario, tasa, resultado.throughput(), resultado.percentilMs(50),
+                resultado.percentilMs(90), resultado.percentilMs(99), resultado.percentilMs(99.9),
+                resultado.latencias().getMaxValue() / 1000.0, resultado.errores()), StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Crea los usuarios iniciales con índices [0, cantidad) y retorna sus IDs en orden.
+     */
+    static List<String> poblar(ClienteApi cliente, int cantidad) throws Exception {
+        List<String> ids = new ArrayList<>(cantidad);
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<HttpResponse<String>>> pendientes = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                int indice = i;
+                pendientes.add(executor.submit(() -> cliente.crearUsuario(indice)));
+            }
+            for (Future<HttpResponse<String>> pendiente : pendientes) {
+                ids.add(ClienteApi.extraerId(pendiente.get().body()));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ejercicio.configure;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Clase de configuración de los formatos binarios de respuesta.
+ * Con Accept: application/cbor o application/x-jackson-smile las respuestas se codifican en CBOR o Smile,
+ * sin comillas ni separadores y con los números en binario; Smile además escribe una sola vez cada nombre de campo.
+ * Parten de la configuración Jackson de la aplicación, pero escriben las fechas como números en lugar de texto ISO.
+ */
+@Configuration
+public class ContenidoConfig {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    // Secuencia de valores CBOR sin arreglo contenedor (RFC 8742), para el listado en streaming.
+    public static final MediaType APPLICATION_CBOR_SEQ = MediaType.parseMediaType("application/cbor-seq");
+
+    /**
+     * Conversor CBOR. Spring Boot lo pone en el lugar del conversor CBOR por defecto, después del de JSON,
+     * así que solo se usa cuando el Accept pide CBOR y no lo acepta ningún conversor anterior.
+     *
+     * @param builder el constructor de ObjectMapper con la configuración de Spring Boot.
+     * @return el conversor configurado.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    /**
+     * Conversor Smile. Spring Boot lo pone en el lugar del conversor Smile por defecto, después del de JSON,
+     * así que solo se usa cuando el Accept pide Smile y no lo acepta ningún conversor anterior.
+     *
+     * @param builder el constructor de ObjectMapper con la configuración de Spring Boot.
+     * @return el conversor configurado.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.ejercicio.configure;
+
+import com.example.ejercicio.util.LecturaPropiaService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Clase de configuración de la réplica de lectura, activa con usuarios.replica.habilitada=true.
+ * Define un pool para la primaria (spring.datasource) y otro para la réplica (usuarios.replica), cada uno
+ * con su nombre de pool para que Hikari publique sus métricas por separado, y un DataSource principal que
+ * enruta entre ambos según la transacción actual.
+ */
+@Configuration
+@ConditionalOnProperty(name = "usuarios.replica.habilitada", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * Pool de la base de datos primaria, que recibe las escrituras.
+     *
+     * @param propiedades las propiedades spring.datasource.
+     * @return el pool de la primaria.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(EnrutadorDataSource.PRIMARIA);
+        return dataSource;
+    }
+
+    /**
+     * Pool de la réplica, que recibe las transacciones de solo lectura.
+     *
+     * @param url la URL JDBC de la réplica.
+     * @param usuario el usuario de la réplica.
+     * @param password la contraseña de la réplica.
+     * @return el pool de la réplica.
+     */
+    @Bean
+    @ConfigurationProperties("usuarios.replica.hikari")
+    public HikariDataSource dataSourceReplica(@Value("${usuarios.replica.url}") String url,
+                                              @Value("${usuarios.replica.username:${spring.datasource.username:}}") String usuario,
+                                              @Value("${usuarios.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName(EnrutadorDataSource.REPLICA);
+        return dataSource;
+    }
+
+    /**
+     * DataSource usado por JPA y JDBC: enruta cada conexión a la primaria o a la réplica.
+     *
+     * @param primaria el pool de la primaria.
+     * @param replica el pool de la réplica.
+     * @param lecturaPropia el servicio de ventanas de lectura propia.
+     * @param meterRegistry el registro de métricas de la aplicación.
+     * @return el DataSource enrutador, con la obtención de la conexión diferida hasta la primera sentencia.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") DataSource replica,
+                                 LecturaPropiaService lecturaPropia,
+                                 MeterRegistry meterRegistry) {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(lecturaPropia, meterRegistry);
+        enrutador.setTargetDataSources(Map.of(EnrutadorDataSource.PRIMARIA, primaria, EnrutadorDataSource.REPLICA, replica));
+        enrutador.setDefaultTargetDataSource(primaria);
+        enrutador.afterPropertiesSet();
+        // El gestor de transacciones pide la conexión antes de marcar la transacción como de solo lectura;
+        // el proxy la obtiene recién en la primera sentencia, cuando la decisión ya es correcta.
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+}
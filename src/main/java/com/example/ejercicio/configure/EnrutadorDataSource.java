@@ -0,0 +1,62 @@
+package com.example.ejercicio.configure;
+
+import com.example.ejercicio.util.LecturaPropiaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envía las transacciones de solo lectura a la réplica y el resto a la primaria.
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy: así la conexión se elige en la primera sentencia,
+ * cuando la transacción ya quedó marcada como de solo lectura.
+ * La decisión no tiene efectos: las ventanas de lectura propia las abren los servicios al confirmar una escritura.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIA = "primaria";
+    public static final String REPLICA = "replica";
+
+    // Servicio que indica si el usuario actual escribió hace poco.
+    private final LecturaPropiaService lecturaPropia;
+
+    // Conexiones de transacciones que no son de solo lectura, escriban o no.
+    private final Counter lecturasEscrituras;
+    private final Counter lecturasReplica;
+    private final Counter lecturasPropias;
+
+    /**
+     * Constructor que registra un contador por cada decisión de enrutamiento.
+     *
+     * @param lecturaPropia el servicio de ventanas de lectura propia
+     * @param meterRegistry el registro de métricas de la aplicación
+     */
+    public EnrutadorDataSource(LecturaPropiaService lecturaPropia, MeterRegistry meterRegistry) {
+        this.lecturaPropia = lecturaPropia;
+        this.lecturasEscrituras = contador(meterRegistry, PRIMARIA, "lectura-escritura");
+        this.lecturasReplica = contador(meterRegistry, REPLICA, "lectura");
+        this.lecturasPropias = contador(meterRegistry, PRIMARIA, "lectura-propia");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            lecturasEscrituras.increment();
+            return PRIMARIA;
+        }
+        if (lecturaPropia.dentroDeVentana()) {
+            lecturasPropias.increment();
+            return PRIMARIA;
+        }
+        lecturasReplica.increment();
+        return REPLICA;
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String destino, String motivo) {
+        return Counter.builder("usuarios.datasource.enrutamiento")
+                .description("Conexiones entregadas por el enrutador, según destino y motivo")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+}
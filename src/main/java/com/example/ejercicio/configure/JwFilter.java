@@ -1,15 +1,22 @@
 package com.example.ejercicio.configure;
 
 import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.TokenVerificado;
 import com.example.ejercicio.util.UsuarioDetalleService;
 import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -17,6 +24,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwFilter extends OncePerRequestFilter {
@@ -26,6 +35,38 @@ public class JwFilter extends OncePerRequestFilter {
     @Autowired
     private UsuarioDetalleService usuarioDetalleService;
 
+    // Habilita la autenticación basada solo en los reclamos del token, sin consultar la base de datos.
+    @Value("${jwt.autenticacion-sin-estado:true}")
+    private boolean autenticacionSinEstado;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Temporizadores por etapa, registrados una sola vez para no buscarlos en el registro en cada solicitud.
+    private Timer etapaVerificacion;
+    private Timer etapaSesion;
+    private Timer etapaCargaUsuario;
+    private Timer etapaValidacion;
+    private Counter tokensRechazados;
+
+    @PostConstruct
+    void inicializar() {
+        this.etapaVerificacion = etapa("verificacion");
+        this.etapaSesion = etapa("sesion");
+        this.etapaCargaUsuario = etapa("carga-usuario");
+        this.etapaValidacion = etapa("validacion");
+        this.tokensRechazados = Counter.builder("usuarios.jwt.rechazados")
+                .description("Solicitudes rechazadas por un token JWT inválido o expirado")
+                .register(meterRegistry);
+    }
+
+    private Timer etapa(String nombre) {
+        return Timer.builder("usuarios.jwt.filtro")
+                .description("Duración de cada etapa de la autenticación por JWT")
+                .tag("etapa", nombre)
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -41,6 +82,7 @@ public class JwFilter extends OncePerRequestFilter {
             handleAuthentication(request, jwt);
             filterChain.doFilter(request, response);
         } catch (JwtException e) {
+            tokensRechazados.increment();
             handleJwtException(response);
         }
     }
@@ -54,19 +96,60 @@ public class JwFilter extends OncePerRequestFilter {
     }
 
     private void handleAuthentication(HttpServletRequest request, String jwt) throws JwtException {
-        String username = jwtService.extraerUsername(jwt);
+        // El token se analiza y su firma se verifica una sola vez por solicitud.
+        long inicio = System.nanoTime();
+        TokenVerificado token;
+        try {
+            token = jwtService.verificar(jwt);
+        } finally {
+            inicio = registrar(etapaVerificacion, inicio);
+        }
+        String username = token.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Sin ID ni versión el token no se puede revocar: solo se aceptan los emitidos por el login actual.
+            if (!token.contieneClaimsDeSesion()) {
+                throw new JwtException("Token sin reclamos de sesión");
+            }
+            boolean vigente = jwtService.isSesionVigente(token);
+            inicio = registrar(etapaSesion, inicio);
+            if (!vigente) {
+                return;
+            }
+            if (autenticacionSinEstado) {
+                // El token ya trae ID, estado y versión: basta con la tabla de versiones en memoria.
+                autenticar(request, new User(username, "", Collections.emptyList()));
+                return;
+            }
+
+            // Sin autenticación sin estado, además se valida contra el usuario almacenado.
             UserDetails userDetails = usuarioDetalleService.loadUserByUsername(username);
-            if (jwtService.isTokenValido(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            inicio = registrar(etapaCargaUsuario, inicio);
+            boolean valido = jwtService.isTokenValido(token, userDetails);
+            registrar(etapaValidacion, inicio);
+            if (valido) {
+                autenticar(request, userDetails);
             }
         }
     }
 
+    /**
+     * Registra el tiempo transcurrido desde el inicio de la etapa y retorna el instante actual,
+     * que sirve de inicio a la etapa siguiente.
+     */
+    private long registrar(Timer etapa, long inicio) {
+        long ahora = System.nanoTime();
+        etapa.record(ahora - inicio, TimeUnit.NANOSECONDS);
+        return ahora;
+    }
+
+    private void autenticar(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
+
     private void handleJwtException(HttpServletResponse response) throws IOException {
         response.setCharacterEncoding(StandardCharsets.UTF_8.name());
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
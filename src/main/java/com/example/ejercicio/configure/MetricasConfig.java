@@ -0,0 +1,25 @@
+package com.example.ejercicio.configure;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Clase de configuración de las métricas de la aplicación.
+ * Habilita la anotación @Timed, usada para medir cada método de la capa de servicio.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Aspecto que registra un temporizador por cada método anotado con @Timed, o de una clase anotada.
+     *
+     * @param meterRegistry el registro de métricas de la aplicación.
+     * @return el aspecto configurado.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ejercicio.configure;
+
+import com.example.ejercicio.util.BCryptPasswordEncoderMedido;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Clase de configuración del codificador de contraseñas compartido por toda la aplicación.
+ * La fuerza de BCrypt se calibra al iniciar para cumplir el tiempo objetivo por hash en el hardware actual.
+ */
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    // Tiempo objetivo por hash, en milisegundos.
+    @Value("${bcrypt.tiempo-objetivo-ms:250}")
+    private long tiempoObjetivoMs;
+
+    // Fuerza mínima aceptada, aunque el hardware no alcance el tiempo objetivo.
+    @Value("${bcrypt.fuerza-minima:10}")
+    private int fuerzaMinima;
+
+    // Fuerza máxima aceptada.
+    @Value("${bcrypt.fuerza-maxima:16}")
+    private int fuerzaMaxima;
+
+    /**
+     * Método para configurar el único codificador BCrypt de la aplicación con la fuerza calibrada.
+     * El codificador registra la duración de cada operación en el registro de métricas.
+     *
+     * @param meterRegistry el registro de métricas de la aplicación.
+     * @return objeto BCryptPasswordEncoder para codificar y verificar contraseñas.
+     */
+    @Bean
+    public BCryptPasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        int fuerza = calibrarFuerza();
+        log.info("Fuerza de BCrypt calibrada en {} para un objetivo de {} ms por hash", fuerza, tiempoObjetivoMs);
+        return new BCryptPasswordEncoderMedido(fuerza, meterRegistry);
+    }
+
+    /**
+     * Mide el costo de un hash con la fuerza mínima y elige la mayor fuerza cuyo costo estimado
+     * no supera el objetivo. Cada punto de fuerza duplica el trabajo, por lo que basta una medición.
+     *
+     * @return la fuerza calibrada
+     */
+    private int calibrarFuerza() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(fuerzaMinima);
+        // La primera ejecución incluye la carga de clases y la compilación, por lo que se descarta.
+        encoder.encode("calibracion");
+        long mejorNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode("calibracion");
+            mejorNanos = Math.min(mejorNanos, System.nanoTime() - inicio);
+        }
+
+        long objetivoNanos = tiempoObjetivoMs * 1_000_000L;
+        int fuerza = fuerzaMinima;
+        long costoEstimado = mejorNanos;
+        while (fuerza < fuerzaMaxima && costoEstimado * 2 <= objetivoNanos) {
+            fuerza++;
+            costoEstimado *= 2;
+        }
+        return fuerza;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.ejercicio.configure;
 
 import com.example.ejercicio.util.UsuarioDetalleService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -37,6 +38,12 @@ public class SecurityConfig {
     @Autowired
     private UsuarioDetalleService usuarioDetalleService;
 
+    /**
+     * Codificador de contraseñas compartido, calibrado en PasswordEncoderConfig.
+     */
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
     /**
      * Método para configurar la cadena de filtros de seguridad HTTP.
      *
@@ -53,9 +60,13 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 // Configuración de autorizaciones para solicitudes HTTP
                 .authorizeHttpRequests(auth -> auth
+                        // Permitir el despacho asíncrono de respuestas ya autorizadas en la solicitud original
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Permitir acceso sin autenticación a las siguientes rutas
                         .requestMatchers("/h2-console/**", "/api/auth/**", "/swagger-ui/**",
                                 "/v3/api-docs/**").permitAll()
+                        // Permitir el chequeo de salud y la lectura de métricas por el recolector de Prometheus
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // Requerir autenticación para cualquier otra solicitud
                         .anyRequest().authenticated()
                 )
@@ -84,20 +95,10 @@ public class SecurityConfig {
         // Establecer el servicio de detalles de usuario
         authProvider.setUserDetailsService(usuarioDetalleService);
         // Establecer el codificador de contraseñas
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
-    /**
-     * Método para configurar el codificador de contraseñas usando BCrypt.
-     *
-     * @return objeto BCryptPasswordEncoder para codificar contraseñas.
-     */
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Método para obtener el administrador de autenticación de la configuración.
      *
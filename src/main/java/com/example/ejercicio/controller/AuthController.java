@@ -11,15 +11,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.security.auth.message.AuthException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -27,17 +31,16 @@ public class AuthController {
     @Autowired
     private UsuarioService usuarioService;
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
     @PostMapping("/login")
-    public ResponseEntity<?> autenticarUsuario(@Valid @RequestBody AuthRequestDTO authRequest) {
+    @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de autenticación en curso")
+    public CompletableFuture<ResponseEntity<?>> autenticarUsuario(@Valid @RequestBody AuthRequestDTO authRequest) {
         try {
-            return ResponseEntity.ok(usuarioService.login(authRequest, authenticationManager));
-        } catch (UsernameNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (AuthException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+            // El usuario se lee en este hilo; el hilo se libera mientras BCrypt verifica la contraseña.
+            return usuarioService.loginAsincrono(authRequest)
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(error -> respuestaLogin(causa(error)));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(servicioSaturado());
         }
     }
 
@@ -46,13 +49,60 @@ public class AuthController {
     @ApiResponse(responseCode = "200", description = "Usuario registrado con éxito")
     @ApiResponse(responseCode = "400", description = "Formato de correo electrónico o contraseña inválido", content = @Content(schema = @Schema(example = "Formato de correo electrónico inválido")))
     @ApiResponse(responseCode = "409", description = "El correo ya está registrado", content = @Content(schema = @Schema(example = "El correo ya registrado")))
-    public ResponseEntity<?> crearUsuario(@RequestBody UsuarioDTO usuarioDTO) {
+    @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de registro en curso")
+    public CompletableFuture<ResponseEntity<?>> crearUsuario(@RequestBody UsuarioDTO usuarioDTO) {
         try {
-            return ResponseEntity.status(HttpStatus.OK).body(usuarioService.crearUsuario(usuarioDTO));
-        } catch (UserExistsException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            // La validación corre en este hilo; el hilo se libera mientras BCrypt codifica la contraseña.
+            return usuarioService.crearUsuarioAsincrono(usuarioDTO)
+                    .<ResponseEntity<?>>thenApply(creado -> ResponseEntity.status(HttpStatus.OK).body(creado))
+                    .exceptionally(error -> respuestaCreacion(causa(error)));
+        } catch (UserExistsException | IllegalArgumentException | RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(respuestaCreacion(e));
         }
     }
+
+    /**
+     * Traduce un error del inicio de sesión a su respuesta; los errores no previstos se propagan.
+     */
+    private ResponseEntity<?> respuestaLogin(Throwable error) {
+        if (error instanceof UsernameNotFoundException) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error.getMessage());
+        }
+        if (error instanceof AuthException) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error.getMessage());
+        }
+        if (error instanceof RejectedExecutionException) {
+            return servicioSaturado();
+        }
+        throw new CompletionException(error);
+    }
+
+    /**
+     * Traduce un error del registro a su respuesta; los errores no previstos se propagan.
+     */
+    private ResponseEntity<?> respuestaCreacion(Throwable error) {
+        if (error instanceof UserExistsException) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error.getMessage());
+        }
+        if (error instanceof IllegalArgumentException) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error.getMessage());
+        }
+        if (error instanceof RejectedExecutionException) {
+            return servicioSaturado();
+        }
+        throw new CompletionException(error);
+    }
+
+    /**
+     * Quita el envoltorio que agrega el futuro a la excepción de la etapa que falló.
+     */
+    private static Throwable causa(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private ResponseEntity<?> servicioSaturado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Servicio saturado, intente nuevamente");
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.service.TelefonoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/telefonos")
+public class TelefonoController {
+
+    @Autowired
+    private TelefonoService telefonoService;
+
+    @GetMapping("/propietarios")
+    @Operation(summary = "Buscar los usuarios que registraron un teléfono")
+    @ApiResponse(responseCode = "200", description = "Propietarios del teléfono, vacío si no hay ninguno")
+    @ApiResponse(responseCode = "400", description = "Faltan componentes del teléfono")
+    @ApiResponse(responseCode = "401", description = "No autorizado")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> buscarPropietarios(
+            @RequestParam(required = false) String codigoPais,
+            @RequestParam(required = false) String codigoCiudad,
+            @RequestParam(required = false) String numero) {
+        try {
+            return ResponseEntity.ok(telefonoService.buscarPropietarios(codigoPais, codigoCiudad, numero));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/propietarios/lote")
+    @Operation(summary = "Buscar los propietarios de varios teléfonos en una sola consulta")
+    @ApiResponse(responseCode = "200", description = "Propietarios de cada teléfono recibido")
+    @ApiResponse(responseCode = "400", description = "Lista vacía, demasiado grande o con teléfonos nulos o vacíos")
+    @ApiResponse(responseCode = "401", description = "No autorizado")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> buscarPropietariosEnLote(@RequestBody List<String> telefonos) {
+        try {
+            return ResponseEntity.ok(telefonoService.buscarPropietariosEnLote(telefonos));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,51 @@
 package com.example.ejercicio.controller;
 
+import com.example.ejercicio.configure.ContenidoConfig;
 import com.example.ejercicio.dto.CreateResponseDTO;
 import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.dto.UsuarioPatchDTO;
+import com.example.ejercicio.dto.VersionListadoDTO;
+import com.example.ejercicio.service.ImportacionService;
 import com.example.ejercicio.service.UsuarioService;
+import com.example.ejercicio.util.LectorMergePatchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -26,24 +54,178 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private ImportacionService importacionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LectorMergePatchService lectorMergePatch;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter conversorCbor;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter conversorSmile;
+
     @GetMapping("/findAll")
     @Operation(summary = "Obtener todos los usuarios")
     @ApiResponse(responseCode = "200", description = "Lista de usuarios obtenida con éxito")
+    @ApiResponse(responseCode = "304", description = "El listado no cambió desde el ETag enviado en If-None-Match")
+    @ApiResponse(responseCode = "401", description = "No autorizado")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> buscarTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamano,
+            WebRequest request) {
+        // Sin parámetros de paginación se conserva la respuesta original con la lista completa.
+        boolean paginado = cursor != null || tamano != null;
+        String pagina;
+        try {
+            // El ETag distingue cada página por sus parámetros normalizados, no por cómo se escribieron.
+            pagina = paginado ? usuarioService.clavePagina(cursor, tamano) : null;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        // El ETag sale de un resumen agregado de la tabla, antes de leer o serializar las filas.
+        VersionListadoDTO version = usuarioService.versionListado();
+        String etag = etag(version.getTotal(), version.getSumaVersiones(), version.getUltimoCreado(),
+                version.getUltimoModificado(), version.getUltimoLogin(), pagina);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        if (!paginado) {
+            return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(usuarioService.findAll());
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(usuarioService.findPagina(cursor, tamano));
+    }
+
+    @GetMapping("/findAll/stream")
+    @Operation(summary = "Obtener todos los usuarios como NDJSON, o como secuencia CBOR o Smile si el Accept lo pide")
+    @ApiResponse(responseCode = "200", description = "Usuarios transmitidos a medida que se leen")
     @ApiResponse(responseCode = "401", description = "No autorizado")
+    @ApiResponse(responseCode = "406", description = "El encabezado Accept está mal formado o no admite NDJSON, CBOR ni Smile")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<?> buscarTodos(){
-        return ResponseEntity.ok(usuarioService.findAll());
+    public ResponseEntity<StreamingResponseBody> transmitirTodos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        // NDJSON es el formato por defecto: solo se usa CBOR o Smile si el cliente los nombra explícitamente.
+        if (accept == null || accept.isBlank()) {
+            return transmitir(objectMapper, MediaType.APPLICATION_NDJSON, true);
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            // Igual que Spring MVC al negociar el contenido: un Accept mal formado no acepta ningún formato.
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        MimeTypeUtils.sortBySpecificity(aceptados);
+        for (MediaType tipo : aceptados) {
+            // q=0 indica que el cliente rechaza ese tipo.
+            if (tipo.getQualityValue() == 0) {
+                continue;
+            }
+            if (tipo.equalsTypeAndSubtype(ContenidoConfig.APPLICATION_CBOR_SEQ)) {
+                return transmitir(conversorCbor.getObjectMapper(), ContenidoConfig.APPLICATION_CBOR_SEQ, false);
+            }
+            if (tipo.equalsTypeAndSubtype(ContenidoConfig.APPLICATION_SMILE)) {
+                return transmitir(conversorSmile.getObjectMapper(), ContenidoConfig.APPLICATION_SMILE, false);
+            }
+            if (tipo.includes(MediaType.APPLICATION_NDJSON)) {
+                return transmitir(objectMapper, MediaType.APPLICATION_NDJSON, true);
+            }
+        }
+        // Ningún tipo aceptado es NDJSON, CBOR ni Smile: por ejemplo, application/json solo.
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    /**
+     * Transmite todos los usuarios como valores raíz consecutivos del formato del ObjectMapper.
+     * La compresión, si el cliente la acepta, la aplica Tomcat sobre la misma salida, sin acumular la respuesta.
+     *
+     * @param mapper el ObjectMapper del formato de salida
+     * @param tipo el tipo de contenido de la respuesta
+     * @param porLinea si se escribe un salto de línea después de cada usuario, como en NDJSON
+     * @return la respuesta en streaming
+     */
+    private ResponseEntity<StreamingResponseBody> transmitir(ObjectMapper mapper, MediaType tipo, boolean porLinea) {
+        StreamingResponseBody cuerpo = salida -> {
+            // Cada usuario se escribe en cuanto se lee de la base de datos.
+            JsonGenerator generador = mapper.getFactory().createGenerator(salida);
+            if (porLinea) {
+                // En JSON los valores raíz se separan con un espacio; en NDJSON el separador es el salto de línea.
+                // Los generadores binarios no tienen separador que quitar.
+                generador.setRootValueSeparator(null);
+            }
+            usuarioService.streamTodos(usuario -> {
+                try {
+                    generador.writeObject(usuario);
+                    if (porLinea) {
+                        generador.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generador.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .body(cuerpo);
+    }
+
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(summary = "Importar usuarios en lote desde un arreglo JSON o NDJSON")
+    @ApiResponse(responseCode = "200", description = "Importación procesada; el resultado de cada registro, "
+            + "incluidos los mal formados, va en la respuesta")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> importarUsuarios(InputStream cuerpo) throws IOException {
+        return ResponseEntity.ok(importacionService.importar(cuerpo));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener un usuario por ID")
+    @ApiResponse(responseCode = "200", description = "Usuario encontrado")
+    @ApiResponse(responseCode = "304", description = "El usuario no cambió desde el ETag enviado en If-None-Match")
+    @ApiResponse(responseCode = "400", description = "ID inválido")
+    @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<?> buscarPorId(@PathVariable String id, WebRequest request) {
+        Optional<CreateResponseDTO> usuario;
+        try {
+            usuario = usuarioService.findById(id);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID inválido");
+        }
+        if (usuario.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        // La versión no cambia con los inicios de sesión, por eso el ETag incluye también ultimoLogin.
+        String etag = etag(usuario.get().getId(), usuario.get().getVersion(), usuario.get().getUltimoLogin());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(usuario.get());
     }
 
     @PutMapping("/update/{id}")
     @Operation(summary = "Actualizar un usuario")
     @ApiResponse(responseCode = "200", description = "Usuario actualizado con éxito")
     @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
-    public ResponseEntity<CreateResponseDTO> updateUsuario(
+    @ApiResponse(responseCode = "409", description = "El usuario fue modificado por otra solicitud")
+    @ApiResponse(responseCode = "503", description = "Demasiadas codificaciones de contraseña en curso")
+    public ResponseEntity<?> updateUsuario(
             @PathVariable String id,
             @RequestBody UsuarioDTO usuarioActualizado) {
-        CreateResponseDTO response = usuarioService.updateUsuario(id, usuarioActualizado);
-        return ResponseEntity.ok(response);
+        try {
+            CreateResponseDTO response = usuarioService.updateUsuario(id, usuarioActualizado);
+            return ResponseEntity.ok(response);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("El usuario fue modificado por otra solicitud");
+        } catch (RejectedExecutionException e) {
+            return servicioSaturado();
+        }
     }
 
     @DeleteMapping("delete/{id}")
@@ -55,15 +237,48 @@ public class UsuarioController {
         return ResponseEntity.noContent().build();
     }
 
-    @PatchMapping("patch/{id}")
-    @Operation(summary = "Actualizar parcialmente un usuario")
+    @PatchMapping(value = "patch/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Actualizar parcialmente un usuario con un JSON Merge Patch (RFC 7396)")
     @ApiResponse(responseCode = "200", description = "Usuario actualizado parcialmente con éxito")
     @ApiResponse(responseCode = "400", description = "Solicitud mal formada")
     @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
-    public ResponseEntity<CreateResponseDTO> patchUsuario(
+    @ApiResponse(responseCode = "409", description = "El usuario fue modificado por otra solicitud")
+    @ApiResponse(responseCode = "503", description = "Demasiadas codificaciones de contraseña en curso")
+    public ResponseEntity<?> patchUsuario(
             @PathVariable String id,
-            @RequestBody Map<String, Object> updates) {
-        CreateResponseDTO response = usuarioService.patchUsuario(id, updates);
-        return ResponseEntity.ok(response);
+            InputStream cuerpo) throws IOException {
+        try {
+            // El documento se lee en streaming directamente a los cambios tipados.
+            UsuarioPatchDTO patch = lectorMergePatch.leer(cuerpo);
+            return ResponseEntity.ok(usuarioService.patchUsuario(id, patch));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("El usuario fue modificado por otra solicitud");
+        } catch (RejectedExecutionException e) {
+            return servicioSaturado();
+        }
+    }
+
+    private ResponseEntity<?> servicioSaturado() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Servicio saturado, intente nuevamente");
+    }
+
+    /**
+     * Calcula un ETag débil a partir de los valores que determinan el contenido. Es débil porque el mismo
+     * contenido se sirve como JSON, CBOR o Smile, comprimido o no, y porque Tomcat no comprime respuestas
+     * con ETag fuerte.
+     *
+     * @param partes los valores; los nulos se incluyen como "null"
+     * @return el ETag débil, con el prefijo W/ y entre comillas
+     */
+    private static String etag(Object... partes) {
+        StringBuilder valor = new StringBuilder();
+        for (Object parte : partes) {
+            valor.append(parte).append('|');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(valor.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
     }
 }
@@ -0,0 +1,58 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.service.UsuarioReactivoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas de usuarios sobre R2DBC. Spring MVC suscribe los Flux y Mono de forma asíncrona: el hilo de Tomcat
+ * se libera al iniciar la respuesta y las filas se leen a medida que el cliente consume. La escritura de cada
+ * usuario, en cambio, es E/S bloqueante del servlet en un hilo del ejecutor asíncrono de MVC, que un cliente
+ * lento retiene hasta terminar o hasta spring.mvc.async.request-timeout.
+ * La autenticación es la misma que la del resto de la API, con el token verificado por JwFilter.
+ */
+@RestController
+@RequestMapping("/api/reactivo/usuarios")
+public class UsuarioReactivoController {
+
+    @Autowired
+    private UsuarioReactivoService usuarioReactivoService;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Obtener todos los usuarios como NDJSON, leídos según la demanda del cliente")
+    @ApiResponse(responseCode = "200", description = "Usuarios transmitidos a medida que el cliente los consume")
+    @ApiResponse(responseCode = "401", description = "No autorizado")
+    @SecurityRequirement(name = "bearerAuth")
+    public Flux<CreateResponseDTO> buscarTodos() {
+        return usuarioReactivoService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener un usuario por ID sin bloquear el hilo de la solicitud")
+    @ApiResponse(responseCode = "200", description = "Usuario encontrado")
+    @ApiResponse(responseCode = "400", description = "ID inválido")
+    @ApiResponse(responseCode = "404", description = "Usuario no encontrado")
+    @SecurityRequirement(name = "bearerAuth")
+    public Mono<ResponseEntity<?>> buscarPorId(@PathVariable String id) {
+        Mono<CreateResponseDTO> usuario;
+        try {
+            usuario = usuarioReactivoService.findById(id);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body("ID inválido"));
+        }
+        return usuario.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
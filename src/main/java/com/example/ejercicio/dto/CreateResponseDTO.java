@@ -1,5 +1,6 @@
 package com.example.ejercicio.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,30 @@ public class CreateResponseDTO {
     private LocalDateTime ultimoLogin;
     private String token;
     private boolean isActive;
+    // Versión de la entidad, usada para calcular el ETag; no forma parte del cuerpo de la respuesta.
+    @JsonIgnore
+    private Long version;
+
+    /**
+     * Constructor usado por las consultas de proyección del repositorio, que seleccionan
+     * directamente los campos de la respuesta sin construir la entidad Usuario.
+     */
+    public CreateResponseDTO(UUID id, String nombre, String correo, LocalDateTime creado,
+                             LocalDateTime ultimoLogin, boolean isActive) {
+        this.id = id;
+        this.nombre = nombre;
+        this.correo = correo;
+        this.creado = creado;
+        this.ultimoLogin = ultimoLogin;
+        this.isActive = isActive;
+    }
+
+    /**
+     * Constructor de proyección que incluye la versión de la entidad, para calcular el ETag del usuario.
+     */
+    public CreateResponseDTO(UUID id, String nombre, String correo, LocalDateTime creado,
+                             LocalDateTime ultimoLogin, boolean isActive, Long version) {
+        this(id, nombre, correo, creado, ultimoLogin, isActive);
+        this.version = version;
+    }
 }
@@ -0,0 +1,15 @@
+package com.example.ejercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@Data
+public class PaginaUsuariosDTO {
+    private List<CreateResponseDTO> usuarios;
+    private String siguienteCursor;
+}
@@ -0,0 +1,20 @@
+package com.example.ejercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Builder
+@AllArgsConstructor
+@Data
+public class PropietarioTelefonoDTO {
+    private String claveNormalizada;
+    private String codigoPais;
+    private String codigoCiudad;
+    private String numero;
+    private UUID usuarioId;
+    private String nombre;
+    private String correo;
+}
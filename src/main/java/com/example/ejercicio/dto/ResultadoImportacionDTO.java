@@ -0,0 +1,18 @@
+package com.example.ejercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Builder
+@AllArgsConstructor
+@Data
+public class ResultadoImportacionDTO {
+    private int indice;
+    private String correo;
+    private boolean creado;
+    private UUID id;
+    private String mensaje;
+}
@@ -0,0 +1,17 @@
+package com.example.ejercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Builder
+@AllArgsConstructor
+@Data
+public class ResumenImportacionDTO {
+    private int total;
+    private int creados;
+    private int rechazados;
+    private List<ResultadoImportacionDTO> resultados;
+}
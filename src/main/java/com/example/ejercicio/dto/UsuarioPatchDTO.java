@@ -0,0 +1,52 @@
+package com.example.ejercicio.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Cambios de un merge patch (RFC 7396) sobre un usuario. Cada campo registra si vino en el documento,
+ * para distinguir un campo ausente (no se modifica) de uno presente con valor null.
+ */
+@Getter
+public class UsuarioPatchDTO {
+    private String nombre;
+    private boolean nombrePresente;
+
+    private String correo;
+    private boolean correoPresente;
+
+    private String password;
+    private boolean passwordPresente;
+
+    private Boolean activo;
+    private boolean activoPresente;
+
+    private List<TelefonoDTO> telefonos;
+    private boolean telefonosPresente;
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+        this.nombrePresente = true;
+    }
+
+    public void setCorreo(String correo) {
+        this.correo = correo;
+        this.correoPresente = true;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+        this.passwordPresente = true;
+    }
+
+    public void setActivo(Boolean activo) {
+        this.activo = activo;
+        this.activoPresente = true;
+    }
+
+    public void setTelefonos(List<TelefonoDTO> telefonos) {
+        this.telefonos = telefonos;
+        this.telefonosPresente = true;
+    }
+}
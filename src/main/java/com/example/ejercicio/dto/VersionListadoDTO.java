@@ -0,0 +1,22 @@
+package com.example.ejercicio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen agregado de la tabla de usuarios que cambia con cualquier alta, baja, modificación
+ * o inicio de sesión; se usa para calcular el ETag del listado sin leer las filas.
+ */
+@Builder
+@AllArgsConstructor
+@Data
+public class VersionListadoDTO {
+    private Long total;
+    private Long sumaVersiones;
+    private LocalDateTime ultimoCreado;
+    private LocalDateTime ultimoModificado;
+    private LocalDateTime ultimoLogin;
+}
@@ -1,32 +1,57 @@
 package com.example.ejercicio.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.util.UUID;
 
 @Entity
+@Table(name = "telefono", indexes = {
+        // Búsqueda por los componentes del número, en el orden en que se consultan.
+        @Index(name = "idx_telefono_componentes", columnList = "codigo_pais, codigo_ciudad, numero"),
+        // Búsqueda por el número escrito en cualquier formato, normalizado a dígitos.
+        @Index(name = "idx_telefono_clave_normalizada", columnList = "clave_normalizada")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "telefonos")
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class Telefono {
+
+    // Separa las partes en la clave normalizada.
+    private static final char SEPARADOR_CLAVE = '-';
+
     @Id
     @GeneratedValue
     @UuidGenerator
     private UUID id;
     private String numero;
+    @Column(name = "codigo_ciudad")
     private String codigoCiudad;
+    @Column(name = "codigo_pais")
     private String codigoPais;
 
+    // Dígitos de código de país, código de ciudad y número, separados por '-'; se calcula al guardar.
+    // Es nula si alguna de las partes no tiene dígitos.
+    @Column(name = "clave_normalizada")
+    private String claveNormalizada;
+
     @ManyToOne
     @JoinColumn(name = "user_id")
     private Usuario usuario;
@@ -38,4 +63,82 @@ public class Telefono {
         this.usuario = usuario;
     }
 
+    @PrePersist
+    @PreUpdate
+    void calcularClaveNormalizada() {
+        this.claveNormalizada = normalizar(codigoPais, codigoCiudad, numero);
+    }
+
+    /**
+     * Construye la clave normalizada de un teléfono: los dígitos de cada parte, descartando espacios y signos,
+     * unidos por un separador para que partes distintas no produzcan la misma clave ("1|23|456" y "12|3|456").
+     * Una parte nula o sin dígitos se trata igual que en {@link #normalizar(String)}, donde falta un grupo:
+     * el teléfono no tiene clave.
+     *
+     * @param codigoPais el código de país
+     * @param codigoCiudad el código de ciudad
+     * @param numero el número
+     * @return la clave normalizada, o null si alguna parte no tiene dígitos
+     */
+    public static String normalizar(String codigoPais, String codigoCiudad, String numero) {
+        StringBuilder clave = new StringBuilder();
+        if (!agregarDigitos(clave, codigoPais)) {
+            return null;
+        }
+        clave.append(SEPARADOR_CLAVE);
+        if (!agregarDigitos(clave, codigoCiudad)) {
+            return null;
+        }
+        clave.append(SEPARADOR_CLAVE);
+        return agregarDigitos(clave, numero) ? clave.toString() : null;
+    }
+
+    /**
+     * Construye la clave normalizada de un teléfono escrito en una sola cadena, como "+57 (1) 123-4567".
+     * El primer grupo de dígitos es el código de país, el segundo el código de ciudad y el resto el número,
+     * cuyos separadores internos se ignoran.
+     *
+     * @param telefono el teléfono escrito en cualquier formato
+     * @return la clave normalizada, o null si no tiene al menos tres grupos de dígitos
+     */
+    public static String normalizar(String telefono) {
+        if (telefono == null) {
+            return null;
+        }
+        StringBuilder clave = new StringBuilder();
+        int grupos = 0;
+        boolean enGrupo = false;
+        for (int i = 0; i < telefono.length(); i++) {
+            char c = telefono.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (!enGrupo && (grupos == 1 || grupos == 2)) {
+                    clave.append(SEPARADOR_CLAVE);
+                }
+                if (!enGrupo) {
+                    grupos++;
+                    enGrupo = true;
+                }
+                clave.append(c);
+            } else {
+                enGrupo = false;
+            }
+        }
+        return grupos < 3 ? null : clave.toString();
+    }
+
+    // Agrega los dígitos de la parte y devuelve si había alguno.
+    private static boolean agregarDigitos(StringBuilder clave, String parte) {
+        if (parte == null) {
+            return false;
+        }
+        int largo = clave.length();
+        for (int i = 0; i < parte.length(); i++) {
+            char c = parte.charAt(i);
+            if (c >= '0' && c <= '9') {
+                clave.append(c);
+            }
+        }
+        return clave.length() > largo;
+    }
+
 }
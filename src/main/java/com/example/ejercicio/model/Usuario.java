@@ -1,14 +1,21 @@
 package com.example.ejercicio.model;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
@@ -16,6 +23,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+// Los UPDATE incluyen solo las columnas modificadas.
+@DynamicUpdate
+// Entidad y resolución correo → ID en la caché de segundo nivel; READ_WRITE invalida las entradas al escribir.
+// Las regiones tienen nombres sin puntos: Caffeine los busca como rutas de application.conf.
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios")
+@NaturalIdCache(region = "usuarios-correo")
 @Data
 @Builder
 @AllArgsConstructor
@@ -26,14 +39,22 @@ public class Usuario {
     @UuidGenerator
     private UUID id;
     private String nombre;
+    @NaturalId(mutable = true)
+    @Column(unique = true)
     private String correo;
     private String password;
     private boolean activo;
-    private String token;
+    // Se incrementa al cambiar correo, contraseña o estado; los tokens de generaciones anteriores quedan revocados.
+    @Column(name = "generacion_token")
+    private long generacionToken;
     private LocalDateTime creado;
     private LocalDateTime modificado;
     private LocalDateTime ultimoLogin;
+    // Se incrementa en cada cambio de la entidad; base de los ETags y del bloqueo optimista.
+    @Version
+    private Long version;
 
     @OneToMany(mappedBy = "usuario", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "usuarios-telefonos")
     private List<Telefono> telefonos;
 }
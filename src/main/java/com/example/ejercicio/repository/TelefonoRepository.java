@@ -1,7 +1,39 @@
 package com.example.ejercicio.repository;
 
+import com.example.ejercicio.dto.PropietarioTelefonoDTO;
 import com.example.ejercicio.model.Telefono;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
 
-public interface TelefonoRepository extends JpaRepository<Telefono, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TelefonoRepository extends JpaRepository<Telefono, UUID> {
+
+    /**
+     * Expresión de constructor compartida por las búsquedas de propietarios; une cada teléfono con su usuario
+     * y selecciona solo los campos de la respuesta.
+     */
+    String PROYECCION_PROPIETARIO = "select new com.example.ejercicio.dto.PropietarioTelefonoDTO(" +
+            "t.claveNormalizada, t.codigoPais, t.codigoCiudad, t.numero, u.id, u.nombre, u.correo) " +
+            "from Telefono t join t.usuario u ";
+
+    /**
+     * Propietarios de un teléfono por sus componentes exactos, usando el índice compuesto.
+     */
+    @Query(PROYECCION_PROPIETARIO +
+            "where t.codigoPais = :codigoPais and t.codigoCiudad = :codigoCiudad and t.numero = :numero")
+    List<PropietarioTelefonoDTO> buscarPropietarios(@Param("codigoPais") String codigoPais,
+                                                    @Param("codigoCiudad") String codigoCiudad,
+                                                    @Param("numero") String numero);
+
+    /**
+     * Propietarios de todos los teléfonos cuyas claves normalizadas se reciben, en una sola consulta.
+     */
+    @Query(PROYECCION_PROPIETARIO + "where t.claveNormalizada in :claves")
+    List<PropietarioTelefonoDTO> buscarPropietariosPorClaves(@Param("claves") Collection<String> claves);
 }
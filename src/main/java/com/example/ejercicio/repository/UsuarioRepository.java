@@ -1,17 +1,92 @@
 package com.example.ejercicio.repository;
 
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.VersionListadoDTO;
 import com.example.ejercicio.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, UUID> {
+public interface UsuarioRepository extends JpaRepository<Usuario, UUID>, UsuarioRepositoryCustom {
+
+    /**
+     * Expresión de constructor compartida por las consultas de solo lectura; selecciona los campos
+     * de la respuesta sin hidratar entidades ni registrarlas en el contexto de persistencia.
+     */
+    String PROYECCION_RESPUESTA = "select new com.example.ejercicio.dto.CreateResponseDTO(" +
+            "u.id, u.nombre, u.correo, u.creado, u.ultimoLogin, u.activo) from Usuario u ";
 
     Usuario findByCorreo(String correo);
     boolean existsByCorreo(String correo);
 
+    /**
+     * Recorre todos los correos registrados; debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select u.correo from Usuario u")
+    Stream<String> streamCorreos();
+
+    /**
+     * Retorna, de los correos recibidos, los que ya están registrados.
+     */
+    @Query("select u.correo from Usuario u where u.correo in :correos")
+    List<String> buscarCorreosExistentes(@Param("correos") Collection<String> correos);
+
+    /**
+     * Un usuario proyectado al DTO de respuesta, con su versión para el ETag.
+     */
+    @Query("select new com.example.ejercicio.dto.CreateResponseDTO(" +
+            "u.id, u.nombre, u.correo, u.creado, u.ultimoLogin, u.activo, u.version) from Usuario u where u.id = :id")
+    Optional<CreateResponseDTO> buscarPorIdComoDTO(@Param("id") UUID id);
+
+    /**
+     * Resumen agregado de la tabla en una sola fila, para el ETag del listado.
+     */
+    @Query("select new com.example.ejercicio.dto.VersionListadoDTO(" +
+            "count(u), sum(u.version), max(u.creado), max(u.modificado), max(u.ultimoLogin)) from Usuario u")
+    VersionListadoDTO buscarVersionListado();
+
+    /**
+     * Lista completa de usuarios proyectada directamente al DTO de respuesta.
+     */
+    @Query(PROYECCION_RESPUESTA)
+    List<CreateResponseDTO> buscarTodosComoDTO();
+
+    /**
+     * Primera página del listado ordenado por (creado, id).
+     */
+    @Query(PROYECCION_RESPUESTA + "order by u.creado, u.id")
+    List<CreateResponseDTO> buscarPrimeraPagina(Pageable pageable);
+
+    /**
+     * Página siguiente al cursor (creado, id), usando paginación por clave en lugar de OFFSET.
+     */
+    @Query(PROYECCION_RESPUESTA +
+            "where u.creado > :creado or (u.creado = :creado and u.id > :id) " +
+            "order by u.creado, u.id")
+    List<CreateResponseDTO> buscarPaginaDespuesDe(@Param("creado") LocalDateTime creado,
+                                                  @Param("id") UUID id,
+                                                  Pageable pageable);
+
+    /**
+     * Recorre todos los usuarios como un cursor de base de datos; debe consumirse dentro de una transacción.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(PROYECCION_RESPUESTA + "order by u.creado, u.id")
+    Stream<CreateResponseDTO> streamTodos();
+
 }
@@ -0,0 +1,32 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Usuario;
+
+import java.util.UUID;
+
+/**
+ * Consultas de usuarios que usan directamente la API de Hibernate.
+ */
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Busca un usuario por su correo, que es su identificador natural. La resolución correo → ID
+     * y la entidad se leen de la caché de segundo nivel cuando están disponibles.
+     *
+     * @param correo el correo del usuario
+     * @return el usuario, o null si no existe
+     */
+    Usuario buscarPorCorreo(String correo);
+
+    /**
+     * Reemplaza el hash de la contraseña solo si no ha cambiado desde que se leyó, e invalida en la caché
+     * de segundo nivel solo las entradas de ese usuario.
+     *
+     * @param id el identificador del usuario
+     * @param correo el correo del usuario, su identificador natural
+     * @param anterior el hash leído
+     * @param nuevo el hash que lo reemplaza
+     * @return true si el hash se reemplazó, false si cambió entretanto
+     */
+    boolean actualizarPassword(UUID id, String correo, String anterior, String nuevo);
+}
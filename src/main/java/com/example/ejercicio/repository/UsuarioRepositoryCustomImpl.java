@@ -0,0 +1,53 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.NaturalIdDataAccess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Implementación de las consultas de usuarios basadas en la API de Hibernate.
+ */
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    private static final String ACTUALIZAR_PASSWORD = "update usuario set password = ? where id = ? and password = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Usuario buscarPorCorreo(String correo) {
+        // A diferencia de una consulta JPQL, la carga por identificador natural consulta primero la caché.
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Usuario.class)
+                .load(correo);
+    }
+
+    @Override
+    @Transactional
+    public boolean actualizarPassword(UUID id, String correo, String anterior, String nuevo) {
+        // Un UPDATE JPQL masivo vaciaría las regiones completas de Usuario en la caché de segundo nivel;
+        // con JDBC se comparan y reemplazan los hashes, y se invalidan solo las entradas de este usuario.
+        if (jdbcTemplate.update(ACTUALIZAR_PASSWORD, nuevo, id, anterior) == 0) {
+            return false;
+        }
+        SessionImplementor sesion = entityManager.unwrap(SessionImplementor.class);
+        sesion.getFactory().getCache().evictEntityData(Usuario.class, id);
+        EntityPersister persister = sesion.getFactory().getMappingMetamodel().getEntityDescriptor(Usuario.class);
+        NaturalIdDataAccess resolucionCorreos = persister.getNaturalIdCacheAccessStrategy();
+        resolucionCorreos.evict(resolucionCorreos.generateCacheKey(correo, persister, sesion));
+        return true;
+    }
+}
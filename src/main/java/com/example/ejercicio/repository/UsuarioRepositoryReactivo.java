@@ -0,0 +1,87 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Consultas de solo lectura de usuarios sobre R2DBC, sin bloquear hilos mientras se espera a la base de datos.
+ * Las filas se emiten según la demanda del suscriptor, de modo que un cliente lento frena la lectura
+ * en lugar de acumular el listado en memoria.
+ *
+ * El pool de conexiones es interno y no se publica como bean: un ConnectionFactory en el contexto
+ * desactivaría la configuración automática del DataSource JDBC que usan JPA y el resto de la aplicación.
+ */
+@Repository
+public class UsuarioRepositoryReactivo {
+
+    private static final String COLUMNAS = "select id, nombre, correo, creado, ultimo_login, activo from usuario ";
+
+    private final ConnectionPool pool;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructor que abre el pool R2DBC sobre la misma base de datos H2 que usa JPA.
+     */
+    public UsuarioRepositoryReactivo(@Value("${usuarios.reactivo.url}") String url,
+                                     @Value("${spring.datasource.username:}") String usuario,
+                                     @Value("${spring.datasource.password:}") String password,
+                                     @Value("${usuarios.reactivo.tamano-pool:10}") int tamanoPool) {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, usuario)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .name("reactivo")
+                .maxSize(tamanoPool)
+                .build());
+        this.databaseClient = DatabaseClient.create(pool);
+    }
+
+    /**
+     * Recorre todos los usuarios ordenados por (creado, id).
+     */
+    public Flux<CreateResponseDTO> buscarTodos() {
+        return databaseClient.sql(COLUMNAS + "order by creado, id")
+                .map(UsuarioRepositoryReactivo::construirDTO)
+                .all();
+    }
+
+    /**
+     * Busca un usuario por ID; vacío si no existe.
+     */
+    public Mono<CreateResponseDTO> buscarPorId(UUID id) {
+        return databaseClient.sql(COLUMNAS + "where id = :id")
+                .bind("id", id)
+                .map(UsuarioRepositoryReactivo::construirDTO)
+                .one();
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.dispose();
+    }
+
+    private static CreateResponseDTO construirDTO(Readable fila) {
+        return new CreateResponseDTO(
+                fila.get("id", UUID.class),
+                fila.get("nombre", String.class),
+                fila.get("correo", String.class),
+                fila.get("creado", LocalDateTime.class),
+                fila.get("ultimo_login", LocalDateTime.class),
+                Boolean.TRUE.equals(fila.get("activo", Boolean.class)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.ResumenImportacionDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacionService {
+    ResumenImportacionDTO importar(InputStream cuerpo) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.PropietarioTelefonoDTO;
+
+import java.util.List;
+import java.util.Map;
+
+public interface TelefonoService {
+    List<PropietarioTelefonoDTO> buscarPropietarios(String codigoPais, String codigoCiudad, String numero);
+    Map<String, List<PropietarioTelefonoDTO>> buscarPropietariosEnLote(List<String> telefonos);
+}
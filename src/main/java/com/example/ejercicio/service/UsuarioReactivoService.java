@@ -0,0 +1,10 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface UsuarioReactivoService {
+    Flux<CreateResponseDTO> findAll();
+    Mono<CreateResponseDTO> findById(String id);
+}
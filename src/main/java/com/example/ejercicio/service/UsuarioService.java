@@ -2,25 +2,41 @@ package com.example.ejercicio.service;
 
 import com.example.ejercicio.dto.AuthRequestDTO;
 import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.PaginaUsuariosDTO;
 import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.dto.UsuarioPatchDTO;
+import com.example.ejercicio.dto.VersionListadoDTO;
 import com.example.ejercicio.model.Usuario;
-import jakarta.security.auth.message.AuthException;
-import org.springframework.security.authentication.AuthenticationManager;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface UsuarioService {
     CreateResponseDTO crearUsuario(UsuarioDTO usuarioDTO);
-    CreateResponseDTO login(AuthRequestDTO authRequest, AuthenticationManager authenticationManager) throws AuthException;
+
+    CompletableFuture<CreateResponseDTO> crearUsuarioAsincrono(UsuarioDTO usuarioDTO);
+
+    CompletableFuture<CreateResponseDTO> loginAsincrono(AuthRequestDTO authRequest);
 
     List<CreateResponseDTO> findAll();
 
+    Optional<CreateResponseDTO> findById(String id);
+
+    VersionListadoDTO versionListado();
+
+    PaginaUsuariosDTO findPagina(String cursor, Integer tamano);
+
+    String clavePagina(String cursor, Integer tamano);
+
+    void streamTodos(Consumer<CreateResponseDTO> consumidor);
+
     CreateResponseDTO updateUsuario(String id, UsuarioDTO usuarioActualizado);
 
     boolean deleteUsuario(String id);
 
-    CreateResponseDTO patchUsuario(String id, Map<String, Object> updates);
+    CreateResponseDTO patchUsuario(String id, UsuarioPatchDTO patch);
 
     Usuario buscarPorEmail(String email);
 }
@@ -0,0 +1,382 @@
+package com.example.ejercicio.service.impl;
+
+import com.example.ejercicio.dto.ResultadoImportacionDTO;
+import com.example.ejercicio.dto.ResumenImportacionDTO;
+import com.example.ejercicio.dto.TelefonoDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.model.Telefono;
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.service.ImportacionService;
+import com.example.ejercicio.util.EjecutorHashingService;
+import com.example.ejercicio.util.FiltroCorreosService;
+import com.example.ejercicio.util.LecturaPropiaService;
+import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import com.example.ejercicio.util.ValidadorUsuarioService;
+import com.example.ejercicio.util.VersionSeguridadService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para importar usuarios en lote desde un arreglo JSON o un flujo NDJSON.
+ * Los registros se leen en streaming y se procesan por bloques: cada bloque se valida,
+ * se codifica en paralelo y se confirma en su propia transacción con inserciones en lote.
+ */
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    // Inyecta la dependencia UsuarioRepository para consultar correos existentes.
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    // Inyecta el servicio para codificar contraseñas.
+    @Autowired
+    private PasswordEncoderServiceImpl passwordEncoder;
+
+    // Inyecta el grupo de hilos dedicado a BCrypt.
+    @Autowired
+    private EjecutorHashingService ejecutorHashing;
+
+    // Inyecta el filtro de correos registrados.
+    @Autowired
+    private FiltroCorreosService filtroCorreos;
+
+    // Inyecta la tabla de generaciones de tokens, para registrar a los usuarios importados.
+    @Autowired
+    private VersionSeguridadService versionSeguridad;
+
+    // Inyecta las ventanas de lectura propia, para que quien importa vea los usuarios recién guardados.
+    @Autowired
+    private LecturaPropiaService lecturaPropia;
+
+    // Inyecta el ObjectMapper de la aplicación para leer los registros.
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Inyecta el gestor de transacciones para confirmar cada bloque por separado.
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Contexto de persistencia usado para insertar y liberar las entidades de cada bloque.
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Inyecta el validador con las reglas de correo y contraseña compiladas al iniciar.
+    @Autowired
+    private ValidadorUsuarioService validadorUsuario;
+
+    // Número de registros confirmados por transacción.
+    @Value("${usuarios.importacion.tamano-lote:500}")
+    private int tamanoLote;
+
+    // Lugares del grupo de hashing, en ejecución o en cola, que pueden ocupar las importaciones en conjunto;
+    // 0 usa la mitad de los hilos del grupo, para que el alta y el inicio de sesión conserven la otra mitad.
+    @Value("${usuarios.importacion.hashing-maximo:0}")
+    private int hashingMaximo;
+
+    // Intentos de encolar una codificación cuando el grupo de hashing rechaza la tarea.
+    private static final int INTENTOS_HASHING = 5;
+
+    // Espera antes del primer reintento; se duplica en cada uno.
+    private static final long ESPERA_INICIAL_MS = 20;
+
+    // Motivo del rechazo de un registro cuyo hash no pudo encolarse.
+    private static final String SERVICIO_SATURADO = "Servicio saturado, intente nuevamente";
+
+    private TransactionTemplate transaccion;
+
+    // Limita las codificaciones de importación pendientes en el grupo de hashing, que comparten con las solicitudes.
+    private Semaphore permisosHashing;
+
+    @PostConstruct
+    void inicializar() {
+        this.transaccion = new TransactionTemplate(transactionManager);
+        int lugares = hashingMaximo > 0 ? hashingMaximo : ejecutorHashing.getHilos() / 2;
+        this.permisosHashing = new Semaphore(Math.max(1, lugares));
+    }
+
+    /**
+     * Importa los usuarios del cuerpo recibido, ya sea un arreglo JSON o un objeto por línea.
+     * Un registro que no es un objeto o que no corresponde a un usuario se rechaza como cualquier otro error
+     * de validación. Si el cuerpo deja de ser JSON válido la lectura no puede continuar: se procesan los
+     * registros ya leídos y el resumen termina con el error en la posición donde se detuvo.
+     *
+     * @param cuerpo el flujo de entrada de la solicitud
+     * @return el resumen con el resultado de cada registro
+     * @throws IOException si no se puede leer el cuerpo
+     */
+    @Override
+    public ResumenImportacionDTO importar(InputStream cuerpo) throws IOException {
+        List<ResultadoImportacionDTO> resultados = new ArrayList<>();
+        // Correos ya vistos en esta importación, para rechazar duplicados dentro del mismo archivo.
+        Set<String> correosVistos = new HashSet<>();
+        List<UsuarioDTO> bloque = new ArrayList<>(tamanoLote);
+        // Posición en la entrada de cada registro del bloque; los rechazados al leer no entran al bloque.
+        List<Integer> indices = new ArrayList<>(tamanoLote);
+        int indice = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(cuerpo)) {
+            JsonToken token = parser.nextToken();
+            // Un arreglo JSON se recorre elemento por elemento; NDJSON es una secuencia de objetos raíz.
+            boolean esArreglo = token == JsonToken.START_ARRAY;
+            if (esArreglo) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                JsonNode registro = parser.readValueAsTree();
+                String error = leerRegistro(registro, bloque);
+                if (error != null) {
+                    resultados.add(rechazado(indice, null, "Registro " + indice + " mal formado: " + error));
+                } else {
+                    indices.add(indice);
+                }
+                indice++;
+                if (bloque.size() == tamanoLote) {
+                    resultados.addAll(procesarBloque(bloque, indices, correosVistos));
+                    bloque.clear();
+                    indices.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // JSON inválido: no hay forma segura de encontrar el inicio del siguiente registro.
+            resultados.add(rechazado(indice, null,
+                    "Registro " + indice + " mal formado, la importación se detuvo: " + e.getOriginalMessage()));
+        }
+        if (!bloque.isEmpty()) {
+            resultados.addAll(procesarBloque(bloque, indices, correosVistos));
+        }
+        // Los rechazos de lectura se agregan antes de procesar su bloque; el resumen sigue el orden de la entrada.
+        resultados.sort(Comparator.comparingInt(ResultadoImportacionDTO::getIndice));
+
+        int creados = (int) resultados.stream().filter(ResultadoImportacionDTO::isCreado).count();
+        return ResumenImportacionDTO.builder()
+                .total(resultados.size())
+                .creados(creados)
+                .rechazados(resultados.size() - creados)
+                .resultados(resultados)
+                .build();
+    }
+
+    /**
+     * Convierte un registro ya leído en un UsuarioDTO y lo agrega al bloque.
+     *
+     * @param registro el registro como árbol JSON
+     * @param bloque el bloque en curso
+     * @return el motivo por el que el registro no es un usuario, o null si se agregó al bloque
+     */
+    private String leerRegistro(JsonNode registro, List<UsuarioDTO> bloque) {
+        if (!registro.isObject()) {
+            return "se esperaba un objeto";
+        }
+        try {
+            bloque.add(objectMapper.treeToValue(registro, UsuarioDTO.class));
+            return null;
+        } catch (JsonProcessingException e) {
+            return e.getOriginalMessage();
+        }
+    }
+
+    /**
+     * Valida, codifica y guarda un bloque de registros.
+     *
+     * @param bloque los registros del bloque
+     * @param indices la posición en la entrada de cada registro del bloque
+     * @param correosVistos los correos ya aceptados en esta importación
+     * @return el resultado de cada registro del bloque
+     */
+    private List<ResultadoImportacionDTO> procesarBloque(List<UsuarioDTO> bloque, List<Integer> indices, Set<String> correosVistos) {
+        // Una sola consulta para los correos del bloque que ya existen en la base de datos,
+        // limitada a los que el filtro de correos no descarta.
+        List<String> correos = bloque.stream()
+                .map(UsuarioDTO::getCorreo)
+                .filter(Objects::nonNull)
+                .filter(filtroCorreos::podriaExistir)
+                .collect(Collectors.toList());
+        Set<String> existentes = correos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(usuarioRepository.buscarCorreosExistentes(correos));
+        // Cada posible coincidencia del filtro cuenta como una verificación, igual que existsByCorreo.
+        correos.forEach(correo -> filtroCorreos.registrarVerificacion(existentes.contains(correo)));
+
+        // Valida el formato de todo el bloque en una sola llamada.
+        List<String> erroresFormato = validadorUsuario.validarLote(bloque);
+        ResultadoImportacionDTO[] resultados = new ResultadoImportacionDTO[bloque.size()];
+        List<CompletableFuture<String>> pendientes = new ArrayList<>();
+        List<Integer> posiciones = new ArrayList<>();
+
+        for (int i = 0; i < bloque.size(); i++) {
+            UsuarioDTO dto = bloque.get(i);
+            String error = erroresFormato.get(i) != null
+                    ? erroresFormato.get(i)
+                    : validarDuplicado(dto, existentes, correosVistos);
+            if (error != null) {
+                resultados[i] = rechazado(indices.get(i), dto.getCorreo(), error);
+                continue;
+            }
+            correosVistos.add(dto.getCorreo());
+            pendientes.add(codificar(dto));
+            posiciones.add(i);
+        }
+
+        // Espera a que terminen los hashes del bloque antes de abrir la transacción. Un hash que falla
+        // rechaza solo su registro; el resto del bloque se guarda igual.
+        List<Usuario> usuarios = new ArrayList<>(pendientes.size());
+        List<Integer> codificadas = new ArrayList<>(pendientes.size());
+        for (int j = 0; j < pendientes.size(); j++) {
+            int i = posiciones.get(j);
+            String passwordCodificada = pendientes.get(j).handle((codificada, error) -> {
+                if (error == null) {
+                    return codificada;
+                }
+                Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                resultados[i] = rechazado(indices.get(i), bloque.get(i).getCorreo(),
+                        causa instanceof RejectedExecutionException
+                                ? SERVICIO_SATURADO
+                                : "Error al codificar la contraseña: " + causa.getMessage());
+                // El correo no quedó registrado: otro registro de la importación puede usarlo.
+                correosVistos.remove(bloque.get(i).getCorreo());
+                return null;
+            }).join();
+            if (passwordCodificada != null) {
+                usuarios.add(construirUsuario(bloque.get(i), passwordCodificada));
+                codificadas.add(i);
+            }
+        }
+        if (usuarios.isEmpty()) {
+            return List.of(resultados);
+        }
+
+        try {
+            transaccion.executeWithoutResult(estado -> {
+                usuarios.forEach(entityManager::persist);
+                // Envía las inserciones en lote y libera las entidades para no acumularlas entre bloques.
+                entityManager.flush();
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            // Si el bloque no se pudo confirmar, ninguno de sus registros quedó guardado y sus correos
+            // vuelven a estar disponibles para el resto de la importación.
+            for (int i : codificadas) {
+                resultados[i] = rechazado(indices.get(i), bloque.get(i).getCorreo(), "Error al guardar el bloque: " + e.getMessage());
+                correosVistos.remove(bloque.get(i).getCorreo());
+            }
+            return List.of(resultados);
+        }
+        for (int j = 0; j < usuarios.size(); j++) {
+            int i = codificadas.get(j);
+            filtroCorreos.agregar(usuarios.get(j).getCorreo());
+            versionSeguridad.registrar(usuarios.get(j).getId(), usuarios.get(j).getGeneracionToken());
+            resultados[i] = ResultadoImportacionDTO.builder()
+                    .indice(indices.get(i))
+                    .correo(usuarios.get(j).getCorreo())
+                    .creado(true)
+                    .id(usuarios.get(j).getId())
+                    .build();
+        }
+        lecturaPropia.registrarEscritura();
+        return List.of(resultados);
+    }
+
+    /**
+     * Verifica que el correo no exista ni se haya repetido en la importación; retorna el motivo del rechazo o null.
+     */
+    private String validarDuplicado(UsuarioDTO dto, Set<String> existentes, Set<String> correosVistos) {
+        if (existentes.contains(dto.getCorreo()) || correosVistos.contains(dto.getCorreo())) {
+            return "El correo ya está registrado";
+        }
+        return null;
+    }
+
+    /**
+     * Codifica la contraseña en el grupo de hashing. Las importaciones ocupan a lo sumo hashingMaximo lugares
+     * del grupo; si no hay uno libre, el hilo de la importación espera y la cola queda para el alta,
+     * el inicio de sesión y los cambios de contraseña. Si aun así el grupo rechaza la tarea, se reintenta
+     * con esperas crecientes; agotados los intentos, el futuro falla con RejectedExecutionException y solo
+     * ese registro se rechaza. BCrypt nunca corre en el hilo de la importación.
+     */
+    private CompletableFuture<String> codificar(UsuarioDTO dto) {
+        try {
+            permisosHashing.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        long espera = ESPERA_INICIAL_MS;
+        for (int intento = 1; ; intento++) {
+            try {
+                return ejecutorHashing.ejecutar(() -> passwordEncoder.encodePassword(dto.getPassword()))
+                        .whenComplete((codificada, error) -> permisosHashing.release());
+            } catch (RejectedExecutionException e) {
+                if (intento == INTENTOS_HASHING) {
+                    permisosHashing.release();
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                permisosHashing.release();
+                return CompletableFuture.failedFuture(e);
+            }
+            espera *= 2;
+        }
+    }
+
+    private Usuario construirUsuario(UsuarioDTO dto, String passwordCodificada) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Usuario usuario = Usuario.builder()
+                .nombre(dto.getNombre())
+                .correo(dto.getCorreo())
+                .password(passwordCodificada)
+                .activo(true)
+                .creado(ahora)
+                .ultimoLogin(ahora)
+                .build();
+        List<Telefono> telefonos = new ArrayList<>();
+        if (dto.getTelefonos() != null) {
+            for (TelefonoDTO telefono : dto.getTelefonos()) {
+                telefonos.add(new Telefono(telefono.getNumero(), telefono.getCodigoCiudad(), telefono.getCodigoPais(), usuario));
+            }
+        }
+        // Los teléfonos se insertan por cascada junto con el usuario.
+        usuario.setTelefonos(telefonos);
+        return usuario;
+    }
+
+    private ResultadoImportacionDTO rechazado(int indice, String correo, String mensaje) {
+        return ResultadoImportacionDTO.builder()
+                .indice(indice)
+                .correo(correo)
+                .creado(false)
+                .mensaje(mensaje)
+                .build();
+    }
+}
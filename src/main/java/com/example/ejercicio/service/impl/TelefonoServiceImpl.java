@@ -0,0 +1,90 @@
+package com.example.ejercicio.service.impl;
+
+import com.example.ejercicio.dto.PropietarioTelefonoDTO;
+import com.example.ejercicio.model.Telefono;
+import com.example.ejercicio.repository.TelefonoRepository;
+import com.example.ejercicio.service.TelefonoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio para buscar a los propietarios de números de teléfono.
+ */
+@Service
+public class TelefonoServiceImpl implements TelefonoService {
+
+    // Inyecta la dependencia TelefonoRepository para las búsquedas indexadas.
+    @Autowired
+    private TelefonoRepository telefonoRepository;
+
+    // Cantidad máxima de teléfonos por búsqueda en lote.
+    @Value("${telefonos.busqueda.tamano-maximo-lote:1000}")
+    private int tamanoMaximoLote;
+
+    /**
+     * Busca los usuarios que registraron el teléfono con los componentes exactos indicados.
+     *
+     * @param codigoPais el código de país
+     * @param codigoCiudad el código de ciudad
+     * @param numero el número
+     * @return los propietarios del teléfono, vacío si no hay ninguno
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropietarioTelefonoDTO> buscarPropietarios(String codigoPais, String codigoCiudad, String numero) {
+        if (codigoPais == null || codigoCiudad == null || numero == null) {
+            throw new IllegalArgumentException("Se requieren codigoPais, codigoCiudad y numero");
+        }
+        return telefonoRepository.buscarPropietarios(codigoPais, codigoCiudad, numero);
+    }
+
+    /**
+     * Resuelve muchos teléfonos en una sola consulta. Cada teléfono puede venir en cualquier formato
+     * (por ejemplo "+57 (1) 123-4567"), con código de país, código de ciudad y número separados por algún
+     * carácter que no sea dígito; se compara por los dígitos de cada parte.
+     *
+     * @param telefonos los teléfonos a buscar
+     * @return para cada teléfono recibido, en el mismo orden, la lista de sus propietarios
+     * @throws IllegalArgumentException si la lista está vacía, es demasiado grande o contiene teléfonos nulos o vacíos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, List<PropietarioTelefonoDTO>> buscarPropietariosEnLote(List<String> telefonos) {
+        if (telefonos == null || telefonos.isEmpty()) {
+            throw new IllegalArgumentException("La lista de teléfonos está vacía");
+        }
+        if (telefonos.size() > tamanoMaximoLote) {
+            throw new IllegalArgumentException("Se admiten como máximo " + tamanoMaximoLote + " teléfonos por búsqueda");
+        }
+        // Cada teléfono es una clave de la respuesta: un elemento nulo o vacío es un error de la solicitud.
+        if (telefonos.stream().anyMatch(telefono -> telefono == null || telefono.isBlank())) {
+            throw new IllegalArgumentException("La lista contiene teléfonos nulos o vacíos");
+        }
+
+        Map<String, String> clavePorTelefono = new LinkedHashMap<>();
+        telefonos.forEach(telefono -> clavePorTelefono.put(telefono, Telefono.normalizar(telefono)));
+        // Los teléfonos sin sus tres partes no pueden coincidir con ninguna clave.
+        Set<String> claves = new LinkedHashSet<>(clavePorTelefono.values());
+        claves.remove(null);
+
+        Map<String, List<PropietarioTelefonoDTO>> porClave = claves.isEmpty()
+                ? Map.of()
+                : telefonoRepository.buscarPropietariosPorClaves(claves).stream()
+                        .collect(Collectors.groupingBy(PropietarioTelefonoDTO::getClaveNormalizada));
+
+        Map<String, List<PropietarioTelefonoDTO>> resultado = new LinkedHashMap<>();
+        clavePorTelefono.forEach((telefono, clave) ->
+                resultado.put(telefono, clave == null ? new ArrayList<>() : porClave.getOrDefault(clave, new ArrayList<>())));
+        return resultado;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ejercicio.service.impl;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.repository.UsuarioRepositoryReactivo;
+import com.example.ejercicio.service.UsuarioReactivoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Servicio de lectura de usuarios no bloqueante, para clientes que consumen listados grandes lentamente.
+ */
+@Service
+public class UsuarioReactivoServiceImpl implements UsuarioReactivoService {
+
+    // Inyecta el repositorio R2DBC de usuarios.
+    @Autowired
+    private UsuarioRepositoryReactivo usuarioRepositoryReactivo;
+
+    /**
+     * Retorna todos los usuarios como un flujo que se lee según la demanda del cliente.
+     *
+     * @return el flujo de DTOs de respuesta ordenado por (creado, id)
+     */
+    @Override
+    public Flux<CreateResponseDTO> findAll() {
+        return usuarioRepositoryReactivo.buscarTodos();
+    }
+
+    /**
+     * Busca un usuario por ID.
+     *
+     * @param id el identificador del usuario
+     * @return el usuario, o vacío si no existe
+     * @throws IllegalArgumentException si el ID no es un UUID válido
+     */
+    @Override
+    public Mono<CreateResponseDTO> findById(String id) {
+        return usuarioRepositoryReactivo.buscarPorId(UUID.fromString(id));
+    }
+}
@@ -2,48 +2,73 @@ package com.example.ejercicio.service.impl;
 
 import com.example.ejercicio.dto.AuthRequestDTO;
 import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.PaginaUsuariosDTO;
 import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.dto.UsuarioPatchDTO;
+import com.example.ejercicio.dto.VersionListadoDTO;
 import com.example.ejercicio.dto.TelefonoDTO;
 import com.example.ejercicio.model.Telefono;
 import com.example.ejercicio.model.Usuario;
-import com.example.ejercicio.repository.TelefonoRepository;
 import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.util.EjecutorHashingService;
+import com.example.ejercicio.util.FiltroCorreosService;
 import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.LecturaPropiaService;
 import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import com.example.ejercicio.util.UltimoLoginService;
+import com.example.ejercicio.util.UsuarioMapper;
+import com.example.ejercicio.util.ValidadorUsuarioService;
+import com.example.ejercicio.util.VersionSeguridadService;
 import com.example.ejercicio.service.UsuarioService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
 import jakarta.security.auth.message.AuthException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio para gestionar usuarios.
+ * Cada método público registra su duración en el temporizador usuarios.servicio, etiquetado por método.
  */
+@Slf4j
 @Service
+@Timed(value = "usuarios.servicio", description = "Duración de los métodos del servicio de usuarios")
 public class UsuarioServiceImpl implements UsuarioService {
 
     // Inyecta la dependencia UsuarioRepository para realizar operaciones CRUD con usuarios.
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    // Inyecta la dependencia TelefonoRepository para realizar operaciones CRUD con teléfonos.
+    // Inyecta el gestor de transacciones para agrupar lecturas y escrituras de un mismo cambio.
     @Autowired
-    private TelefonoRepository telefonoRepository;
+    private PlatformTransactionManager transactionManager;
 
     // Inyecta el servicio para codificar contraseñas.
     @Autowired
@@ -53,13 +78,57 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private JwtService jwtService;
 
-    // Carga la expresión regular para validar correos electrónicos desde las propiedades de configuración.
-    @Value("${email.regex}")
-    private String emailRegex;
+    // Inyecta el grupo de hilos dedicado a BCrypt.
+    @Autowired
+    private EjecutorHashingService ejecutorHashing;
+
+    // Inyecta el filtro de correos registrados que evita consultas de existencia innecesarias.
+    @Autowired
+    private FiltroCorreosService filtroCorreos;
+
+    // Inyecta la tabla de versiones de seguridad usada para revocar tokens.
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    // Inyecta el servicio que escribe el último inicio de sesión, inmediata o diferidamente.
+    @Autowired
+    private UltimoLoginService ultimoLoginService;
+
+    // Inyecta el componente que convierte usuarios en DTOs de respuesta.
+    @Autowired
+    private UsuarioMapper usuarioMapper;
+
+    // Inyecta el validador con las reglas de correo y contraseña compiladas al iniciar.
+    @Autowired
+    private ValidadorUsuarioService validadorUsuario;
 
-    // Carga la expresión regular para validar contraseñas desde las propiedades de configuración.
-    @Value("${password.regex}")
-    private String passwordRegex;
+    // Inyecta el servicio de ventanas de lectura propia.
+    @Autowired
+    private LecturaPropiaService lecturaPropia;
+
+    // Inyecta el ejecutor de tareas de la aplicación, donde continúan el alta y el inicio de sesión asíncronos tras BCrypt.
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor ejecutorTareas;
+
+    // Plantilla para ejecutar bloques en una transacción.
+    private TransactionTemplate transaccion;
+
+    // Tamaño de página usado cuando el cliente no indica uno.
+    @Value("${usuarios.paginacion.tamano-defecto:50}")
+    private int tamanoPaginaPorDefecto;
+
+    // Tamaño de página máximo aceptado en el listado paginado.
+    @Value("${usuarios.paginacion.tamano-maximo:500}")
+    private int tamanoPaginaMaximo;
+
+    /**
+     * Prepara la plantilla de transacciones a partir del gestor inyectado.
+     */
+    @PostConstruct
+    void inicializar() {
+        this.transaccion = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * Crea un nuevo usuario a partir de un DTO.
@@ -71,101 +140,224 @@ public class UsuarioServiceImpl implements UsuarioService {
     public CreateResponseDTO crearUsuario(UsuarioDTO usuarioDTO) {
         // Valida el formato del correo y la contraseña proporcionados.
         validarCorreoYContraseña(usuarioDTO.getCorreo(), usuarioDTO.getPassword());
+        // Codifica la contraseña en el grupo de hashing y guarda el usuario en este hilo.
+        return guardarNuevoUsuario(usuarioDTO, codificarPassword(usuarioDTO.getPassword()));
+    }
+
+    /**
+     * Crea un nuevo usuario sin retener el hilo que llama mientras se codifica la contraseña.
+     * La validación corre en el hilo que llama; la codificación, en el grupo de hashing, y el guardado,
+     * en el ejecutor de tareas de la aplicación, para que ningún hilo de hashing use conexiones.
+     *
+     * @param usuarioDTO el DTO que contiene la información del usuario a crear
+     * @return un futuro que se completa con el DTO de respuesta del usuario creado
+     * @throws RejectedExecutionException si el grupo de hashing está saturado
+     */
+    @Override
+    public CompletableFuture<CreateResponseDTO> crearUsuarioAsincrono(UsuarioDTO usuarioDTO) {
+        validarCorreoYContraseña(usuarioDTO.getCorreo(), usuarioDTO.getPassword());
+        return ejecutorHashing.ejecutar(() -> passwordEncoder.encodePassword(usuarioDTO.getPassword()))
+                .thenApplyAsync(passwordCodificada -> guardarNuevoUsuario(usuarioDTO, passwordCodificada), ejecutorTareas);
+    }
+
+    /**
+     * Guarda un usuario nuevo con su contraseña ya codificada.
+     *
+     * @param usuarioDTO el DTO que contiene la información del usuario a crear
+     * @param passwordCodificada la contraseña codificada
+     * @return un DTO de respuesta que representa al usuario creado
+     */
+    private CreateResponseDTO guardarNuevoUsuario(UsuarioDTO usuarioDTO, String passwordCodificada) {
         // Construye un objeto Usuario desde el DTO.
-        Usuario usuario = construirUsuarioDesdeDTO(usuarioDTO);
-        // Genera un token JWT para el usuario.
-        String jwtToken = jwtService.generarToken(usuarioDTO.getCorreo());
+        Usuario usuario = construirUsuarioDesdeDTO(usuarioDTO, passwordCodificada);
         // Establece la fecha de creación y el último inicio de sesión al tiempo actual.
         usuario.setCreado(LocalDateTime.now());
         usuario.setUltimoLogin(LocalDateTime.now());
-        // Asigna el token JWT al usuario y lo marca como activo.
-        usuario.setToken(jwtToken);
+        // Marca al usuario como activo; su token se emite al iniciar sesión.
         usuario.setActivo(true);
 
-        // Guarda el usuario en el repositorio y obtiene la instancia final guardada.
+        // Asocia los teléfonos al usuario para insertarlos por cascada en la misma transacción.
+        usuario.setTelefonos(construirTelefonos(usuario, usuarioDTO.getTelefonos()));
+
+        // Guarda el usuario y sus teléfonos con un único save; las inserciones se envían en lote.
         Usuario finalUsuario = usuarioRepository.save(usuario);
-        // Guarda los teléfonos asociados al usuario.
-        guardarTelefonos(finalUsuario, usuarioDTO.getTelefonos());
+        filtroCorreos.agregar(finalUsuario.getCorreo());
+        versionSeguridadService.registrar(finalUsuario.getId(), finalUsuario.getGeneracionToken());
+        // El alta es anónima: la ventana de lectura propia se abre a nombre del correo creado,
+        // para que su primer inicio de sesión no lo busque en una réplica atrasada.
+        lecturaPropia.registrarEscritura(finalUsuario.getCorreo());
 
         // Construye y retorna un DTO de respuesta a partir del usuario guardado.
-        return construirResponseDTO(finalUsuario);
+        return usuarioMapper.construirResponseDTO(finalUsuario);
     }
 
     /**
      * Construye un objeto Usuario desde un DTO de Usuario.
      *
      * @param usuarioDTO el DTO que contiene la información del usuario
+     * @param passwordCodificada la contraseña ya codificada
      * @return un objeto Usuario
      */
-    private Usuario construirUsuarioDesdeDTO(UsuarioDTO usuarioDTO) {
+    private Usuario construirUsuarioDesdeDTO(UsuarioDTO usuarioDTO, String passwordCodificada) {
         return Usuario.builder()
                 .nombre(usuarioDTO.getNombre())
                 .correo(usuarioDTO.getCorreo())
-                // Codifica la contraseña proporcionada.
-                .password(passwordEncoder.encodePassword(usuarioDTO.getPassword()))
+                .password(passwordCodificada)
                 .build();
     }
 
     /**
-     * Guarda una lista de teléfonos en el repositorio, asociados a un usuario.
+     * Construye la lista de teléfonos asociados a un usuario a partir de sus DTOs.
      *
      * @param usuario el objeto Usuario al que se asociarán los teléfonos
-     * @param telefonosDTO la lista de DTOs de teléfono a guardar
+     * @param telefonosDTO la lista de DTOs de teléfono, puede ser nula
+     * @return una lista mutable de teléfonos
+     */
+    private List<Telefono> construirTelefonos(Usuario usuario, List<TelefonoDTO> telefonosDTO) {
+        List<Telefono> telefonos = new ArrayList<>();
+        // Verifica si la lista de teléfonos no es nula.
+        if (telefonosDTO != null) {
+            telefonosDTO.forEach(dto -> telefonos.add(Telefono.builder()
+                    .numero(dto.getNumero())
+                    .codigoCiudad(dto.getCodigoCiudad())
+                    .codigoPais(dto.getCodigoPais())
+                    .usuario(usuario)
+                    .build()));
+        }
+        return telefonos;
+    }
+
+    /**
+     * Ajusta los teléfonos del usuario a la lista recibida comparando por (codigoPais, codigoCiudad, numero).
+     * Los teléfonos que coinciden se conservan sin cambios, los que faltan se eliminan por orphanRemoval
+     * y solo los nuevos se insertan. Las repeticiones de un mismo número se cuentan una a una.
+     *
+     * @param usuario el usuario administrado cuyos teléfonos se actualizan
+     * @param telefonosDTO la lista deseada de teléfonos, puede ser nula
+     * @return true si se eliminó o agregó algún teléfono
      */
-    private void guardarTelefonos(Usuario usuario, List<TelefonoDTO> telefonosDTO) {
-        // Verifica si la lista de teléfonos no es nula ni está vacía.
-        if (telefonosDTO != null && !telefonosDTO.isEmpty()) {
-            List<Telefono> telefonos = telefonosDTO.stream()
-                    .map(dto -> Telefono.builder()
-                            .numero(dto.getNumero())
-                            .codigoCiudad(dto.getCodigoCiudad())
-                            .codigoPais(dto.getCodigoPais())
-                            .usuario(usuario)
-                            .build())
-                    // Convierte los DTOs en objetos de teléfono.
-                    .collect(Collectors.toList());
-            // Guarda todos los teléfonos en el repositorio.
-            telefonoRepository.saveAll(telefonos);
+    private boolean reconciliarTelefonos(Usuario usuario, List<TelefonoDTO> telefonosDTO) {
+        if (usuario.getTelefonos() == null) {
+            usuario.setTelefonos(new ArrayList<>());
+        }
+        // Cuenta cuántas veces se pide cada teléfono.
+        Map<ClaveTelefono, Integer> pendientes = new HashMap<>();
+        if (telefonosDTO != null) {
+            telefonosDTO.forEach(dto -> pendientes.merge(
+                    new ClaveTelefono(dto.getCodigoPais(), dto.getCodigoCiudad(), dto.getNumero()), 1, Integer::sum));
         }
+
+        // Conserva los existentes que siguen pedidos y elimina el resto.
+        boolean cambio = false;
+        Iterator<Telefono> existentes = usuario.getTelefonos().iterator();
+        while (existentes.hasNext()) {
+            Telefono telefono = existentes.next();
+            ClaveTelefono clave = new ClaveTelefono(telefono.getCodigoPais(), telefono.getCodigoCiudad(), telefono.getNumero());
+            Integer restantes = pendientes.get(clave);
+            if (restantes == null) {
+                existentes.remove();
+                cambio = true;
+            } else if (restantes == 1) {
+                pendientes.remove(clave);
+            } else {
+                pendientes.put(clave, restantes - 1);
+            }
+        }
+
+        // Agrega los teléfonos pedidos que no existían.
+        pendientes.forEach((clave, cantidad) -> {
+            for (int i = 0; i < cantidad; i++) {
+                usuario.getTelefonos().add(Telefono.builder()
+                        .numero(clave.numero())
+                        .codigoCiudad(clave.codigoCiudad())
+                        .codigoPais(clave.codigoPais())
+                        .usuario(usuario)
+                        .build());
+            }
+        });
+        return cambio || !pendientes.isEmpty();
+    }
+
+    /**
+     * Identidad de un teléfono para la reconciliación.
+     */
+    private record ClaveTelefono(String codigoPais, String codigoCiudad, String numero) {
     }
 
     /**
-     * Realiza el proceso de inicio de sesión para un usuario.
+     * Realiza el proceso de inicio de sesión sin retener el hilo que llama mientras se verifica la contraseña.
+     * El usuario se lee en el hilo que llama; la verificación BCrypt corre en el grupo de hashing y el resto,
+     * incluida la escritura del último inicio de sesión, en el ejecutor de tareas de la aplicación.
      *
      * @param authRequest el objeto DTO que contiene las credenciales de autenticación
-     * @param authenticationManager el gestor de autenticaciones
-     * @return un DTO de respuesta que representa al usuario autenticado
-     * @throws AuthException si las credenciales son inválidas
+     * @return un futuro que se completa con el DTO de respuesta, o con AuthException si las credenciales son inválidas
+     * @throws RejectedExecutionException si el grupo de hashing está saturado
      */
     @Override
-    public CreateResponseDTO login(AuthRequestDTO authRequest, AuthenticationManager authenticationManager) throws AuthException {
-        try {
-            // Autentica las credenciales proporcionadas.
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(authRequest.getCorreo(), authRequest.getPassword()));
-            // Establece la autenticación en el contexto de seguridad.
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-
-            // Genera un token JWT para el usuario autenticado.
-            String jwtToken = jwtService.generarToken(authRequest.getCorreo());
-            // Busca el usuario por correo electrónico.
-            Usuario usuario = buscarPorEmail(authRequest.getCorreo());
-            if (usuario == null) {
-                throw new UsernameNotFoundException("Usuario no encontrado");
-            }
+    public CompletableFuture<CreateResponseDTO> loginAsincrono(AuthRequestDTO authRequest) {
+        String correo = authRequest.getCorreo();
+        // Aún no hay autenticación: la búsqueda se hace a nombre del correo para respetar su ventana de lectura propia.
+        Usuario usuario = lecturaPropia.ejecutarComo(correo, () -> buscarPorEmail(correo));
+        // Un correo inexistente también pasa por BCrypt, para no distinguirse por el tiempo de respuesta.
+        String passwordCodificada = usuario == null ? null : usuario.getPassword();
+        return ejecutorHashing.ejecutar(() -> passwordEncoder.verificarPassword(authRequest.getPassword(), passwordCodificada))
+                .thenApplyAsync(valida -> {
+                    if (!valida) {
+                        throw new CompletionException(new AuthException("Credenciales inválidas"));
+                    }
+                    return completarLogin(usuario, authRequest.getPassword());
+                }, ejecutorTareas);
+    }
+
+    /**
+     * Completa el inicio de sesión de un usuario con credenciales ya verificadas: emite su token,
+     * registra el último inicio de sesión y, si corresponde, actualiza el hash en segundo plano.
+     *
+     * @param usuario el usuario autenticado
+     * @param password la contraseña en texto plano ya verificada
+     * @return un DTO de respuesta con el token incluido
+     */
+    private CreateResponseDTO completarLogin(Usuario usuario, String password) {
+        // Genera un token JWT autocontenido para el usuario autenticado.
+        String jwtToken = jwtService.generarToken(usuario);
+
+        // Actualiza solo la columna del último inicio de sesión, de inmediato o en el próximo lote diferido.
+        LocalDateTime ahora = LocalDateTime.now();
+        ultimoLoginService.registrar(usuario.getId(), ahora);
+        usuario.setUltimoLogin(ahora);
+        // Actualiza en segundo plano los hashes generados con una fuerza anterior.
+        if (passwordEncoder.requiereRehash(usuario.getPassword())) {
+            rehashEnSegundoPlano(usuario.getId(), usuario.getCorreo(), usuario.getPassword(), password);
+        }
+
+        // Construye y retorna un DTO de respuesta con el token incluido.
+        return usuarioMapper.construirResponseDTO(usuario)
+                .toBuilder()
+                .token(jwtToken)
+                .build();
+    }
 
-            // Actualiza el último inicio de sesión del usuario.
-            usuario.setUltimoLogin(LocalDateTime.now());
-            // Guarda los cambios en el repositorio.
-            Usuario usuarioGuardado = usuarioRepository.save(usuario);
-
-            // Construye y retorna un DTO de respuesta con el token incluido.
-            return construirResponseDTO(usuarioGuardado)
-                    .toBuilder()
-                    .token(jwtToken)
-                    .build();
-        } catch (AuthenticationException e) {
-            throw new AuthException("Credenciales inválidas");
+    /**
+     * Vuelve a codificar la contraseña con la fuerza actual en el grupo de hashing, sin demorar el inicio de sesión.
+     * La escritura se hace en el ejecutor de tareas de la aplicación. Si el grupo está saturado o la escritura falla
+     * se omite; se intentará de nuevo en el próximo inicio de sesión.
+     *
+     * @param id el identificador del usuario
+     * @param correo el correo del usuario
+     * @param hashAnterior el hash almacenado al momento del inicio de sesión
+     * @param password la contraseña en texto plano ya verificada
+     */
+    private void rehashEnSegundoPlano(UUID id, String correo, String hashAnterior, String password) {
+        try {
+            // Solo la codificación ocupa un hilo de hashing; la escritura se hace después, fuera del grupo.
+            ejecutorHashing.ejecutar(() -> passwordEncoder.encodePassword(password))
+                    .thenAcceptAsync(hash -> usuarioRepository.actualizarPassword(id, correo, hashAnterior, hash), ejecutorTareas)
+                    .exceptionally(error -> {
+                        log.warn("No se pudo actualizar el hash de la contraseña del usuario {}", id, error);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            // El rehash es oportunista; no debe afectar al inicio de sesión.
         }
     }
 
@@ -175,23 +367,142 @@ public class UsuarioServiceImpl implements UsuarioService {
      * @return lista de DTOs de respuesta representando a cada usuario
      */
     @Override
+    @Transactional(readOnly = true)
     public List<CreateResponseDTO> findAll() {
         try {
-            // Busca todos los usuarios en el repositorio.
-            List<Usuario> usuarios = usuarioRepository.findAll();
-            if (usuarios.isEmpty()) {
-                return Collections.emptyList();
-            }
-
-            // Construye una lista de DTOs de respuesta para cada usuario encontrado.
-            return usuarios.stream()
-                    .map(this::construirResponseDTO)
-                    .collect(Collectors.toList());
+            // Proyecta los usuarios directamente al DTO de respuesta, sin construir entidades.
+            return usuarioRepository.buscarTodosComoDTO();
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage());
         }
     }
 
+    /**
+     * Busca un usuario por ID y lo retorna como DTO de respuesta, con su versión.
+     *
+     * @param id el identificador del usuario
+     * @return el usuario, o vacío si no existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CreateResponseDTO> findById(String id) {
+        return usuarioRepository.buscarPorIdComoDTO(UUID.fromString(id));
+    }
+
+    /**
+     * Retorna el resumen agregado de la tabla de usuarios, que cambia con cualquier modificación visible en el listado.
+     *
+     * @return el resumen con cantidad, suma de versiones y últimas fechas
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionListadoDTO versionListado() {
+        return usuarioRepository.buscarVersionListado();
+    }
+
+    /**
+     * Retorna una página de usuarios ordenada por fecha de creación e ID, usando un cursor
+     * opaco en lugar de un desplazamiento para que el costo no crezca con el número de página.
+     *
+     * @param cursor el cursor devuelto por la página anterior, o null para la primera página
+     * @param tamano el número de usuarios solicitado, limitado por el máximo configurado
+     * @return la página de usuarios y el cursor de la página siguiente, si existe
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaUsuariosDTO findPagina(String cursor, Integer tamano) {
+        int tamanoPagina = tamanoPagina(tamano);
+        // Se pide un elemento extra para saber si existe una página siguiente.
+        Pageable limite = PageRequest.ofSize(tamanoPagina + 1);
+
+        List<CreateResponseDTO> usuarios;
+        if (cursor == null || cursor.isBlank()) {
+            usuarios = usuarioRepository.buscarPrimeraPagina(limite);
+        } else {
+            // Decodifica la última posición leída y continúa desde ella.
+            String[] posicion = decodificarCursor(cursor);
+            usuarios = usuarioRepository.buscarPaginaDespuesDe(
+                    LocalDateTime.parse(posicion[0]), UUID.fromString(posicion[1]), limite);
+        }
+
+        boolean hayMas = usuarios.size() > tamanoPagina;
+        List<CreateResponseDTO> pagina = hayMas ? usuarios.subList(0, tamanoPagina) : usuarios;
+
+        return PaginaUsuariosDTO.builder()
+                .usuarios(pagina)
+                .siguienteCursor(hayMas ? codificarCursor(pagina.get(pagina.size() - 1)) : null)
+                .build();
+    }
+
+    /**
+     * Retorna la forma normalizada de los parámetros de una página: la posición decodificada del cursor
+     * y el tamaño limitado al rango permitido. Dos solicitudes con la misma clave reciben la misma página.
+     *
+     * @param cursor el cursor devuelto por la página anterior, o null para la primera página
+     * @param tamano el número de usuarios solicitado
+     * @return la clave de la página
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    @Override
+    public String clavePagina(String cursor, Integer tamano) {
+        String posicion = cursor == null || cursor.isBlank() ? "" : String.join("|", decodificarCursor(cursor));
+        return posicion + "|" + tamanoPagina(tamano);
+    }
+
+    /**
+     * Limita el tamaño de página solicitado al rango permitido.
+     */
+    private int tamanoPagina(Integer tamano) {
+        return tamano == null ? tamanoPaginaPorDefecto : Math.max(1, Math.min(tamano, tamanoPaginaMaximo));
+    }
+
+    /**
+     * Recorre todos los usuarios y entrega cada uno al consumidor a medida que se lee de la base de datos,
+     * sin mantener la tabla completa en memoria.
+     *
+     * @param consumidor la función que recibe cada DTO de respuesta
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamTodos(Consumer<CreateResponseDTO> consumidor) {
+        // Las filas se proyectan al DTO, por lo que el contexto de persistencia no acumula entidades.
+        try (Stream<CreateResponseDTO> usuarios = usuarioRepository.streamTodos()) {
+            usuarios.forEach(consumidor);
+        }
+    }
+
+    /**
+     * Codifica la posición de un usuario como cursor opaco.
+     *
+     * @param usuario el último usuario de la página
+     * @return el cursor en Base64 URL
+     */
+    private String codificarCursor(CreateResponseDTO usuario) {
+        String posicion = usuario.getCreado() + "|" + usuario.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicion.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor opaco en sus componentes (creado, id).
+     *
+     * @param cursor el cursor recibido
+     * @return un arreglo con la fecha de creación y el ID
+     */
+    private String[] decodificarCursor(String cursor) {
+        try {
+            String[] posicion = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (posicion.length != 2) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            // Valida ambos componentes antes de usarlos en la consulta.
+            LocalDateTime.parse(posicion[0]);
+            UUID.fromString(posicion[1]);
+            return posicion;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
     /**
      * Actualiza la información de un usuario existente, encontrado por ID.
      *
@@ -201,40 +512,41 @@ public class UsuarioServiceImpl implements UsuarioService {
      */
     @Override
     public CreateResponseDTO updateUsuario(String id, UsuarioDTO usuarioActualizado) {
-        // Busca el usuario por ID, o lanza una excepción si no es encontrado.
-        Usuario usuario = usuarioRepository.findById(UUID.fromString(id))
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+        UUID usuarioId = UUID.fromString(id);
 
         // Valida el formato del correo y la contraseña proporcionados.
         validarCorreoYContraseña(usuarioActualizado.getCorreo(), usuarioActualizado.getPassword());
+        // Codifica la contraseña antes de abrir la transacción para no retener la conexión durante BCrypt.
+        String passwordCodificada = codificarPassword(usuarioActualizado.getPassword());
 
-        // Actualiza la información del usuario.
-        usuario.setNombre(usuarioActualizado.getNombre());
-        usuario.setCorreo(usuarioActualizado.getCorreo());
-        usuario.setPassword(passwordEncoder.encodePassword(usuarioActualizado.getPassword()));
-        usuario.setModificado(LocalDateTime.now());
+        // Lectura, cambios del usuario y de todos sus teléfonos se escriben en una sola transacción.
+        Usuario usuarioGuardado = transaccion.execute(estado -> {
+            // Busca el usuario por ID, o lanza una excepción si no es encontrado.
+            Usuario usuario = usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
 
-        // Borra y actualiza la lista de teléfonos del usuario.
-        usuario.getTelefonos().clear();
-        usuarioActualizado.getTelefonos().forEach(dto -> {
-            Telefono telefono = Telefono.builder()
-                    .numero(dto.getNumero())
-                    .codigoCiudad(dto.getCodigoCiudad())
-                    .codigoPais(dto.getCodigoPais())
-                    .usuario(usuario)
-                    .build();
-            usuario.getTelefonos().add(telefono);
-        });
+            // Actualiza la información del usuario.
+            usuario.setNombre(usuarioActualizado.getNombre());
+            usuario.setCorreo(usuarioActualizado.getCorreo());
+            usuario.setPassword(passwordCodificada);
+            usuario.setModificado(LocalDateTime.now());
+
+            // Aplica solo las altas y bajas de teléfonos; los que no cambian no generan SQL.
+            reconciliarTelefonos(usuario, usuarioActualizado.getTelefonos());
 
-        // Genera un nuevo token JWT y lo asigna al usuario.
-        String jwtToken = jwtService.generarToken(usuario.getCorreo());
-        usuario.setToken(jwtToken);
+            // Pasa a la siguiente generación de tokens, revocando los emitidos antes del cambio.
+            usuario.setGeneracionToken(usuario.getGeneracionToken() + 1);
 
-        // Guarda el usuario actualizado en el repositorio.
-        Usuario usuarioGuardado = usuarioRepository.save(usuario);
+            // Guarda el usuario actualizado en el repositorio.
+            return usuarioRepository.save(usuario);
+        });
+        // Publica la nueva generación y registra el correo actualizado en el filtro.
+        versionSeguridadService.registrar(usuarioGuardado.getId(), usuarioGuardado.getGeneracionToken());
+        filtroCorreos.agregar(usuarioGuardado.getCorreo());
+        registrarEscritura(usuarioGuardado);
 
         // Construye y retorna un DTO de respuesta a partir del usuario guardado.
-        return construirResponseDTO(usuarioGuardado);
+        return usuarioMapper.construirResponseDTO(usuarioGuardado);
     }
 
     /**
@@ -250,6 +562,11 @@ public class UsuarioServiceImpl implements UsuarioService {
         if (usuario.isPresent()) {
             // Elimina el usuario si existe.
             usuarioRepository.delete(usuario.get());
+            // Revoca los tokens que el usuario eliminado pudiera seguir usando.
+            versionSeguridadService.eliminar(usuario.get().getId());
+            filtroCorreos.registrarEliminacion();
+            // Quien eliminó deja de ver al usuario aunque la réplica aún no reciba la eliminación.
+            lecturaPropia.registrarEscritura();
             return true;
         } else {
             return false;
@@ -257,61 +574,104 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     /**
-     * Actualiza parcialmente la información de un usuario existente utilizando un mapa de cambios.
+     * Aplica un merge patch (RFC 7396) a un usuario existente. Solo se modifican los campos presentes
+     * en el documento y solo se escriben las columnas que cambian; la contraseña se codifica únicamente
+     * si viene en el patch y los teléfonos se reconcilian solo si vienen en el patch.
      *
      * @param id el identificador del usuario a actualizar
-     * @param updates un mapa que contiene los cambios a aplicar
+     * @param patch los cambios leídos del documento
      * @return un DTO de respuesta que representa al usuario actualizado
      */
     @Override
-    public CreateResponseDTO patchUsuario(String id, Map<String, Object> updates) {
-        // Busca el usuario por ID, o lanza una excepción si no es encontrado.
-        Usuario usuario = usuarioRepository.findById(UUID.fromString(id))
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-
-        // Aplica los cambios al usuario según el mapa de actualizaciones.
-        updates.forEach((clave, valor) -> {
-            switch (clave) {
-                case "nombre":
-                    usuario.setNombre((String) valor);
-                    break;
-                case "correo":
-                    usuario.setCorreo((String) valor);
-                    break;
-                case "password":
-                    usuario.setPassword(passwordEncoder.encodePassword((String) valor));
-                    break;
-                case "activo":
-                    usuario.setActivo((Boolean) valor);
-                    break;
-                case "telefonos":
-                    List<Telefono> telefonosActualizados = ((List<Map<String, Object>>) valor).stream()
-                            .map(dto -> Telefono.builder()
-                                    .numero((String) dto.get("numero"))
-                                    .codigoCiudad((String) dto.get("codigoCiudad"))
-                                    .codigoPais((String) dto.get("codigoPais"))
-                                    .usuario(usuario)
-                                    .build())
-                            .collect(Collectors.toList());
-                    usuario.getTelefonos().clear();
-                    usuario.getTelefonos().addAll(telefonosActualizados);
-                    break;
-                default:
-                    throw new RuntimeException("Información desconocida");
+    public CreateResponseDTO patchUsuario(String id, UsuarioPatchDTO patch) {
+        UUID usuarioId = UUID.fromString(id);
+
+        // Valida los campos presentes antes de abrir la transacción.
+        if (patch.isCorreoPresente() && !validadorUsuario.correoValido(patch.getCorreo())) {
+            throw new IllegalArgumentException(ValidadorUsuarioService.CORREO_INVALIDO);
+        }
+        if (patch.isActivoPresente() && patch.getActivo() == null) {
+            throw new IllegalArgumentException("El campo activo no puede ser null");
+        }
+        // Codifica la contraseña fuera de la transacción y solo si viene en el patch.
+        String passwordCodificada = null;
+        if (patch.isPasswordPresente()) {
+            if (!validadorUsuario.passwordValida(patch.getPassword())) {
+                throw new IllegalArgumentException(ValidadorUsuarioService.PASSWORD_INVALIDA);
+            }
+            passwordCodificada = codificarPassword(patch.getPassword());
+        }
+        String nuevaPassword = passwordCodificada;
+
+        boolean[] cambioDeSeguridad = new boolean[1];
+        Usuario usuarioGuardado = transaccion.execute(estado -> {
+            // Busca el usuario por ID, o lanza una excepción si no es encontrado.
+            Usuario usuario = usuarioRepository.findById(usuarioId)
+                    .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
+            boolean modificado = false;
+
+            if (patch.isNombrePresente() && !Objects.equals(patch.getNombre(), usuario.getNombre())) {
+                usuario.setNombre(patch.getNombre());
+                modificado = true;
+            }
+            if (patch.isCorreoPresente() && !patch.getCorreo().equals(usuario.getCorreo())) {
+                if (filtroCorreos.podriaExistir(patch.getCorreo())) {
+                    boolean existe = usuarioRepository.existsByCorreo(patch.getCorreo());
+                    filtroCorreos.registrarVerificacion(existe);
+                    if (existe) {
+                        throw new RuntimeException("El correo ya está registrado");
+                    }
+                }
+                usuario.setCorreo(patch.getCorreo());
+                modificado = true;
+                cambioDeSeguridad[0] = true;
+            }
+            if (nuevaPassword != null) {
+                usuario.setPassword(nuevaPassword);
+                modificado = true;
+                cambioDeSeguridad[0] = true;
             }
+            if (patch.isActivoPresente() && patch.getActivo() != usuario.isActivo()) {
+                usuario.setActivo(patch.getActivo());
+                modificado = true;
+                cambioDeSeguridad[0] = true;
+            }
+            if (patch.isTelefonosPresente()) {
+                // Un null elimina todos los teléfonos; un arreglo reemplaza la lista.
+                modificado |= reconciliarTelefonos(usuario, patch.getTelefonos());
+            }
+            if (modificado) {
+                // Actualiza la fecha de modificación del usuario.
+                usuario.setModificado(LocalDateTime.now());
+            }
+            if (cambioDeSeguridad[0]) {
+                // Pasa a la siguiente generación de tokens, revocando los emitidos antes del cambio.
+                usuario.setGeneracionToken(usuario.getGeneracionToken() + 1);
+            }
+            // La entidad está administrada: al confirmar, Hibernate escribe solo las columnas modificadas.
+            return usuario;
         });
 
-        // Genera un nuevo token JWT y lo asigna al usuario.
-        String jwtToken = jwtService.generarToken(usuario.getCorreo());
-        usuario.setToken(jwtToken);
-        // Actualiza la fecha de modificación del usuario.
-        usuario.setModificado(LocalDateTime.now());
-
-        // Guarda el usuario actualizado en el repositorio.
-        Usuario usuarioGuardado = usuarioRepository.save(usuario);
+        // Publica la generación que revoca los tokens emitidos antes de un cambio de correo, contraseña o estado.
+        if (cambioDeSeguridad[0]) {
+            versionSeguridadService.registrar(usuarioGuardado.getId(), usuarioGuardado.getGeneracionToken());
+            filtroCorreos.agregar(usuarioGuardado.getCorreo());
+        }
+        registrarEscritura(usuarioGuardado);
 
         // Construye y retorna un DTO de respuesta a partir del usuario guardado.
-        return construirResponseDTO(usuarioGuardado);
+        return usuarioMapper.construirResponseDTO(usuarioGuardado);
+    }
+
+    /**
+     * Abre la ventana de lectura propia tras confirmar un cambio: para quien hizo la solicitud y para el
+     * usuario modificado, cuyo próximo inicio de sesión puede usar un correo que la réplica aún no tiene.
+     *
+     * @param usuarioGuardado el usuario ya confirmado en la base de datos
+     */
+    private void registrarEscritura(Usuario usuarioGuardado) {
+        lecturaPropia.registrarEscritura();
+        lecturaPropia.registrarEscritura(usuarioGuardado.getCorreo());
     }
 
     /**
@@ -322,44 +682,38 @@ public class UsuarioServiceImpl implements UsuarioService {
      */
     @Override
     public Usuario buscarPorEmail(String email) {
-        return usuarioRepository.findByCorreo(email);
+        // Carga por identificador natural, resuelta desde la caché de segundo nivel si está disponible.
+        return usuarioRepository.buscarPorCorreo(email);
     }
 
     /**
-     * Valida el formato del correo y la contraseña proporcionados.
+     * Codifica una contraseña en el grupo de hashing y espera el resultado en el hilo actual,
+     * que conserva el resto del trabajo de la solicitud, incluido el acceso a la base de datos.
      *
-     * @param correo el correo electrónico a validar
-     * @param password la contraseña a validar
+     * @param password la contraseña en texto plano
+     * @return la contraseña codificada
+     * @throws RejectedExecutionException si el grupo de hashing está saturado
      */
-    private void validarCorreoYContraseña(String correo, String password) {
-        // Verifica si el correo ya está registrado.
-        if (usuarioRepository.existsByCorreo(correo)) {
-            throw new RuntimeException("El correo ya está registrado");
-        }
-        // Verifica el formato del correo electrónico usando la expresión regular.
-        if (!Pattern.matches(emailRegex, correo)) {
-            throw new IllegalArgumentException("Formato de correo electrónico inválido");
-        }
-        // Verifica el formato de la contraseña usando la expresión regular.
-        if (!Pattern.matches(passwordRegex, password)) {
-            throw new IllegalArgumentException("Formato de contraseña inválido");
-        }
+    private String codificarPassword(String password) {
+        return ejecutorHashing.ejecutarYEsperar(() -> passwordEncoder.encodePassword(password));
     }
 
     /**
-     * Construye un DTO de respuesta a partir de un objeto Usuario.
+     * Valida el formato del correo y la contraseña proporcionados.
      *
-     * @param usuario el usuario del que construir el DTO
-     * @return un objeto CreateResponseDTO que representa al usuario
+     * @param correo el correo electrónico a validar
+     * @param password la contraseña a validar
      */
-    private CreateResponseDTO construirResponseDTO(Usuario usuario) {
-        return CreateResponseDTO.builder()
-                .id(usuario.getId())
-                .nombre(usuario.getNombre())
-                .correo(usuario.getCorreo())
-                .creado(usuario.getCreado())
-                .ultimoLogin(usuario.getUltimoLogin())
-                .isActive(usuario.isActivo())
-                .build();
+    private void validarCorreoYContraseña(String correo, String password) {
+        // Verifica si el correo ya está registrado; solo se consulta la base de datos si el filtro no lo descarta.
+        if (filtroCorreos.podriaExistir(correo)) {
+            boolean existe = usuarioRepository.existsByCorreo(correo);
+            filtroCorreos.registrarVerificacion(existe);
+            if (existe) {
+                throw new RuntimeException("El correo ya está registrado");
+            }
+        }
+        // Verifica el formato del correo y de la contraseña con las reglas precompiladas.
+        validadorUsuario.validarFormato(correo, password);
     }
 }
\ No newline at end of file
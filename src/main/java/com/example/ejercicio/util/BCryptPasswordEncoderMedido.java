@@ -0,0 +1,57 @@
+package com.example.ejercicio.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Codificador BCrypt que registra en Micrometer la duración de cada codificación y verificación.
+ * Extiende BCryptPasswordEncoder para que los componentes que lo inyectan por tipo no cambien.
+ */
+public class BCryptPasswordEncoderMedido extends BCryptPasswordEncoder {
+
+    private final Timer codificar;
+    private final Timer verificar;
+
+    /**
+     * Constructor que registra los temporizadores con la fuerza como etiqueta.
+     *
+     * @param fuerza la fuerza de BCrypt
+     * @param meterRegistry el registro de métricas de la aplicación
+     */
+    public BCryptPasswordEncoderMedido(int fuerza, MeterRegistry meterRegistry) {
+        super(fuerza);
+        this.codificar = Timer.builder("usuarios.bcrypt")
+                .description("Duración de las operaciones BCrypt")
+                .tag("operacion", "codificar")
+                .tag("fuerza", String.valueOf(fuerza))
+                .register(meterRegistry);
+        this.verificar = Timer.builder("usuarios.bcrypt")
+                .description("Duración de las operaciones BCrypt")
+                .tag("operacion", "verificar")
+                .tag("fuerza", String.valueOf(fuerza))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long inicio = System.nanoTime();
+        try {
+            return super.encode(rawPassword);
+        } finally {
+            codificar.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        long inicio = System.nanoTime();
+        try {
+            return super.matches(rawPassword, encodedPassword);
+        } finally {
+            verificar.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.ejercicio.util;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que ejecuta el trabajo costoso de BCrypt (codificación y verificación de contraseñas)
+ * en un grupo de hilos propio, de tamaño y cola limitados, para que no ocupe los hilos de Tomcat.
+ * Cuando la cola está llena la tarea se rechaza de inmediato en lugar de esperar.
+ */
+@Service
+public class EjecutorHashingService {
+
+    // Grupo de hilos dedicado al hashing de contraseñas.
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructor que crea el grupo de hilos con el tamaño y la cola configurados.
+     *
+     * @param hilos número de hilos; 0 usa el número de procesadores disponibles
+     * @param capacidadCola número máximo de tareas en espera
+     */
+    public EjecutorHashingService(@Value("${hashing.hilos:0}") int hilos,
+                                  @Value("${hashing.capacidad-cola:64}") int capacidadCola) {
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        AtomicInteger contador = new AtomicInteger();
+        ThreadFactory fabrica = tarea -> {
+            Thread hilo = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        };
+        // AbortPolicy lanza RejectedExecutionException cuando la cola está llena.
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), fabrica, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Encola una tarea en el grupo de hashing.
+     *
+     * @param <T> el tipo del resultado
+     * @param tarea la tarea a ejecutar
+     * @return un futuro que se completa con el resultado o con la excepción de la tarea
+     * @throws RejectedExecutionException si el grupo y su cola están llenos
+     */
+    public <T> CompletableFuture<T> ejecutar(Callable<T> tarea) throws RejectedExecutionException {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                resultado.complete(tarea.call());
+            } catch (Exception e) {
+                resultado.completeExceptionally(e);
+            } finally {
+                // Evita que la autenticación de una solicitud quede en el hilo reutilizado.
+                SecurityContextHolder.clearContext();
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Ejecuta una tarea en el grupo de hashing y espera su resultado en el hilo que llama.
+     * Está pensado para pasar por el grupo solo la operación BCrypt: las lecturas y escrituras de la base de datos
+     * siguen en el hilo de la solicitud, con su transacción, y los hilos de hashing nunca retienen conexiones.
+     *
+     * @param <T> el tipo del resultado
+     * @param tarea la tarea a ejecutar; no debe llamar a este método, o podría esperar a su propio grupo
+     * @return el resultado de la tarea
+     * @throws RejectedExecutionException si el grupo y su cola están llenos
+     */
+    public <T> T ejecutarYEsperar(Callable<T> tarea) throws RejectedExecutionException {
+        try {
+            return ejecutar(tarea).join();
+        } catch (CompletionException e) {
+            // Propaga la excepción original de la tarea, sin el envoltorio del futuro.
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException excepcion) {
+                throw excepcion;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /**
+     * Retorna el número de hilos del grupo.
+     *
+     * @return el número de hilos
+     */
+    public int getHilos() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * Detiene el grupo de hilos al cerrar la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.ejercicio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamaño fijo y seguro para uso concurrente sin bloqueos.
+ * Responde "definitivamente no está" o "podría estar"; nunca da falsos negativos.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+    private final long capacidad;
+    private final AtomicLong insertados = new AtomicLong();
+
+    /**
+     * Dimensiona el filtro para la capacidad y la tasa de falsos positivos indicadas.
+     *
+     * @param capacidad número de elementos esperados
+     * @param tasaFalsosPositivos tasa de falsos positivos objetivo, entre 0 y 1
+     */
+    public FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        this.capacidad = Math.max(1, capacidad);
+        long m = (long) Math.ceil(-this.capacidad * Math.log(tasaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.numeroBits = Math.max(64, m);
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / this.capacidad * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((numeroBits + 63) / 64));
+    }
+
+    public void agregar(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + (long) i * h2, numeroBits);
+            int palabra = (int) (indice >>> 6);
+            long mascara = 1L << indice;
+            long actual;
+            do {
+                actual = bits.get(palabra);
+            } while ((actual & mascara) == 0 && !bits.compareAndSet(palabra, actual, actual | mascara));
+        }
+        insertados.incrementAndGet();
+    }
+
+    public boolean podriaContener(String valor) {
+        long hash = hash64(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numeroHashes; i++) {
+            long indice = Math.floorMod(h1 + (long) i * h2, numeroBits);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tasa de falsos positivos esperada con los elementos insertados hasta ahora.
+     */
+    public double tasaFalsosPositivosEstimada() {
+        return Math.pow(1 - Math.exp(-numeroHashes * (double) insertados.get() / numeroBits), numeroHashes);
+    }
+
+    public long getCapacidad() {
+        return capacidad;
+    }
+
+    public long getInsertados() {
+        return insertados.get();
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre los bytes UTF-8, con una mezcla final para repartir los bits.
+     */
+    private static long hash64(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
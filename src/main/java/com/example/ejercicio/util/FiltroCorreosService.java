@@ -0,0 +1,203 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Servicio que mantiene un filtro de Bloom con los correos registrados, normalizados.
+ * Si el filtro responde que un correo no existe, se omite la consulta existsByCorreo;
+ * si responde que podría existir, se confirma contra la base de datos.
+ */
+@Service
+public class FiltroCorreosService {
+
+    // Repositorio usado para cargar los correos existentes al construir el filtro.
+    private final UsuarioRepository usuarioRepository;
+
+    // Plantilla para leer los correos en una transacción de solo lectura.
+    private final TransactionTemplate transaccionLectura;
+
+    // Tasa de falsos positivos objetivo al dimensionar el filtro.
+    private final double tasaObjetivo;
+
+    // Capacidad mínima del filtro, aunque la tabla tenga menos usuarios.
+    private final long capacidadMinima;
+
+    // Filtro vigente; null mientras no se haya construido, en cuyo caso siempre se consulta la base de datos.
+    private volatile FiltroBloom filtro;
+
+    // Filtro en reconstrucción; recibe también los correos agregados mientras se carga.
+    private volatile FiltroBloom enConstruccion;
+
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+    private final AtomicLong eliminados = new AtomicLong();
+    private final AtomicLong posiblesPositivos = new AtomicLong();
+    private final AtomicLong falsosPositivos = new AtomicLong();
+    private final Counter consultasOmitidas;
+
+    /**
+     * Constructor que registra las métricas del filtro.
+     */
+    public FiltroCorreosService(UsuarioRepository usuarioRepository,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${usuarios.filtro-correos.tasa-falsos-positivos:0.01}") double tasaObjetivo,
+                                @Value("${usuarios.filtro-correos.capacidad-minima:10000}") long capacidadMinima) {
+        this.usuarioRepository = usuarioRepository;
+        this.transaccionLectura = new TransactionTemplate(transactionManager);
+        this.transaccionLectura.setReadOnly(true);
+        this.tasaObjetivo = tasaObjetivo;
+        this.capacidadMinima = capacidadMinima;
+
+        this.consultasOmitidas = Counter.builder("usuarios.filtro.correos.consultas.omitidas")
+                .description("Consultas existsByCorreo evitadas por una respuesta negativa del filtro")
+                .register(meterRegistry);
+        Gauge.builder("usuarios.filtro.correos.falsos.positivos.estimados", this,
+                        servicio -> servicio.filtro == null ? 0 : servicio.filtro.tasaFalsosPositivosEstimada())
+                .description("Tasa de falsos positivos esperada según el llenado del filtro")
+                .register(meterRegistry);
+        Gauge.builder("usuarios.filtro.correos.falsos.positivos.observados", this,
+                        FiltroCorreosService::tasaFalsosPositivosObservada)
+                .description("Fracción de posibles coincidencias que la base de datos descartó")
+                .register(meterRegistry);
+        Gauge.builder("usuarios.filtro.correos.insertados", this,
+                        servicio -> servicio.filtro == null ? 0 : servicio.filtro.getInsertados())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Construye el filtro a partir de la tabla de usuarios una vez iniciada la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirAlIniciar() {
+        reconstruir();
+    }
+
+    /**
+     * Indica si el correo podría estar registrado. Un resultado false es definitivo.
+     *
+     * @param correo el correo a consultar
+     * @return false si el correo seguro no está registrado
+     */
+    public boolean podriaExistir(String correo) {
+        FiltroBloom actual = filtro;
+        if (actual == null || correo == null) {
+            return true;
+        }
+        if (actual.podriaContener(normalizar(correo))) {
+            posiblesPositivos.incrementAndGet();
+            return true;
+        }
+        consultasOmitidas.increment();
+        return false;
+    }
+
+    /**
+     * Registra el resultado de la consulta a la base de datos tras una posible coincidencia del filtro.
+     *
+     * @param existe el resultado de existsByCorreo
+     */
+    public void registrarVerificacion(boolean existe) {
+        if (!existe && filtro != null) {
+            falsosPositivos.incrementAndGet();
+        }
+    }
+
+    /**
+     * Agrega un correo nuevo o modificado al filtro.
+     *
+     * @param correo el correo registrado
+     */
+    public void agregar(String correo) {
+        if (correo == null) {
+            return;
+        }
+        String normalizado = normalizar(correo);
+        FiltroBloom actual = filtro;
+        FiltroBloom nuevo = enConstruccion;
+        if (actual != null) {
+            actual.agregar(normalizado);
+            // Al superar la capacidad la tasa de falsos positivos crece; se redimensiona en segundo plano.
+            if (actual.getInsertados() > actual.getCapacidad()) {
+                reconstruirEnSegundoPlano();
+            }
+        }
+        if (nuevo != null) {
+            nuevo.agregar(normalizado);
+        }
+    }
+
+    /**
+     * Registra que un correo dejó de existir. El filtro no admite borrados, así que el correo sigue
+     * figurando como posible hasta la siguiente reconstrucción, que se lanza cuando se acumulan muchos.
+     */
+    public void registrarEliminacion() {
+        FiltroBloom actual = filtro;
+        if (actual != null && eliminados.incrementAndGet() > actual.getCapacidad() / 4) {
+            reconstruirEnSegundoPlano();
+        }
+    }
+
+    /**
+     * Fracción de las posibles coincidencias que resultaron no existir en la base de datos.
+     *
+     * @return la tasa de falsos positivos observada
+     */
+    public double tasaFalsosPositivosObservada() {
+        long posibles = posiblesPositivos.get();
+        return posibles == 0 ? 0 : (double) falsosPositivos.get() / posibles;
+    }
+
+    /**
+     * Normaliza un correo para el filtro: sin espacios y en minúsculas.
+     */
+    static String normalizar(String correo) {
+        return correo.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void reconstruirEnSegundoPlano() {
+        if (!reconstruyendo.get()) {
+            CompletableFuture.runAsync(this::reconstruir);
+        }
+    }
+
+    /**
+     * Dimensiona un filtro nuevo según el número de usuarios y lo llena con los correos de la tabla.
+     */
+    private void reconstruir() {
+        if (!reconstruyendo.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long capacidad = Math.max(capacidadMinima, usuarioRepository.count() * 2);
+            FiltroBloom nuevo = new FiltroBloom(capacidad, tasaObjetivo);
+            enConstruccion = nuevo;
+            transaccionLectura.executeWithoutResult(estado -> {
+                try (Stream<String> correos = usuarioRepository.streamCorreos()) {
+                    correos.forEach(correo -> nuevo.agregar(normalizar(correo)));
+                }
+            });
+            filtro = nuevo;
+            eliminados.set(0);
+            posiblesPositivos.set(0);
+            falsosPositivos.set(0);
+        } finally {
+            enConstruccion = null;
+            reconstruyendo.set(false);
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.ejercicio.util;
 
+import com.example.ejercicio.model.Usuario;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
 
 /**
  * Servicio para gestionar operaciones relacionadas con JWT.
@@ -18,102 +28,107 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    // Nombre del reclamo con el ID del usuario.
+    public static final String CLAIM_USUARIO_ID = "uid";
+
+    // Nombre del reclamo con el estado activo del usuario.
+    public static final String CLAIM_ACTIVO = "act";
+
+    // Nombre del reclamo con la versión de seguridad del usuario al emitir el token.
+    public static final String CLAIM_VERSION = "ver";
+
     // Llave secreta para firmar los tokens JWT.
     @Value("${jwt.secret}")
     private String secret;
 
-    /**
-     * Extrae el nombre de usuario contenido en el token.
-     *
-     * @param token el token JWT
-     * @return el nombre de usuario extraído del token
-     */
-    public String extraerUsername(String token) {
-        // Utiliza una función para extraer el sujeto del token.
-        return extraerClaim(token, Claims::getSubject);
-    }
+    // Tabla en memoria con la versión de seguridad vigente de cada usuario.
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    // Clave de firma decodificada una sola vez a partir del secreto en Base64.
+    private Key claveFirma;
+
+    // Parser configurado con la clave de firma; no se modifica después de inicializarse.
+    private JwtParser parser;
 
     /**
-     * Extrae la fecha de expiración del token.
-     *
-     * @param token el token JWT
-     * @return la fecha de expiración extraída del token
+     * Decodifica el secreto y prepara el parser reutilizable al iniciar el servicio.
      */
-    public Date extraerExpiracion(String token) {
-        // Utiliza una función para extraer la fecha de expiración del token.
-        return extraerClaim(token, Claims::getExpiration);
+    @PostConstruct
+    void inicializar() {
+        this.claveFirma = new SecretKeySpec(TextCodec.BASE64.decode(secret), SignatureAlgorithm.HS256.getJcaName());
+        this.parser = Jwts.parser().setSigningKey(claveFirma);
     }
 
     /**
-     * Extrae un reclamo específico del token utilizando la función proporcionada.
+     * Analiza y verifica la firma del token una única vez, devolviendo una vista inmutable de sus reclamos.
      *
-     * @param <T> el tipo del reclamo
      * @param token el token JWT
-     * @param claimsResolver la función para resolver el reclamo
-     * @return el reclamo extraído del token
+     * @return los reclamos verificados del token
+     * @throws JwtException si la firma es inválida o el token ha expirado
      */
-    public <T> T extraerClaim(String token, Function<Claims, T> claimsResolver) {
-        // Aplica la función provista para extraer el reclamo de los Claims.
-        return claimsResolver.apply(extraerTodosClaims(token));
+    public TokenVerificado verificar(String token) throws JwtException {
+        Jws<Claims> jws = parser.parseClaimsJws(token);
+        TokenVerificado verificado = TokenVerificado.desde(jws.getBody());
+        // Comprueba la expiración sobre el valor ya leído, sin volver a analizar el token.
+        if (verificado.isExpirado(new Date())) {
+            throw new ExpiredJwtException(jws.getHeader(), jws.getBody(), "Token expirado");
+        }
+        return verificado;
     }
 
     /**
-     * Extrae todos los reclamos del token.
+     * Comprueba si el token es válido evaluando el nombre de usuario y la fecha de expiración.
      *
      * @param token el token JWT
-     * @return los reclamos extraídos del token
+     * @param userDetails los detalles del usuario para comparación
+     * @return true si el token es válido, false en caso contrario
      */
-    private Claims extraerTodosClaims(String token) {
-        // Analiza el token JWT para obtener los Claims utilizando la clave secreta.
-        return Jwts
-                .parser()
-                .setSigningKey(secret)
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean isTokenValido(String token, UserDetails userDetails) {
+        return isTokenValido(verificar(token), userDetails);
     }
 
     /**
-     * Verifica si el token ha expirado.
+     * Comprueba si un token ya verificado corresponde al usuario y no ha expirado.
      *
-     * @param token el token JWT
-     * @return true si el token ha expirado, false en caso contrario
+     * @param token el token ya verificado
+     * @param userDetails los detalles del usuario para comparación
+     * @return true si el token es válido, false en caso contrario
      */
-    private boolean isTokenExpirado(String token) {
-        // Compara la fecha de expiración del token con la fecha actual.
-        return extraerExpiracion(token).before(new Date());
+    public boolean isTokenValido(TokenVerificado token, UserDetails userDetails) {
+        // Verifica que los nombres de usuario coincidan y que el token no haya expirado.
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpirado(new Date());
     }
 
     /**
-     * Comprueba si el token es válido evaluando el nombre de usuario y la fecha de expiración.
+     * Comprueba, usando solo los reclamos y la tabla de generaciones en memoria, si la sesión sigue vigente.
      *
-     * @param token el token JWT
-     * @param userDetails los detalles del usuario para comparación
-     * @return true si el token es válido, false en caso contrario
+     * @param token el token ya verificado, con reclamos de sesión
+     * @return true si el usuario está activo y la generación del token es la vigente
      */
-    public boolean isTokenValido(String token, UserDetails userDetails) {
-        // Extrae el nombre de usuario del token y lo compara con el nombre de usuario esperado.
-        String username = extraerUsername(token);
-        // Verifica que los nombres de usuario coincidan y que el token no haya expirado.
-        return username.equals(userDetails.getUsername()) && !isTokenExpirado(token);
+    public boolean isSesionVigente(TokenVerificado token) {
+        // El usuario debe existir y estar activo, y el token no debe haber sido revocado por un cambio posterior.
+        // Un token emitido para un usuario sin entrada lleva SIN_USUARIO y nunca es vigente.
+        return Boolean.TRUE.equals(token.getActivo())
+                && token.getVersion() != VersionSeguridadService.SIN_USUARIO
+                && token.getVersion() == versionSeguridadService.versionActual(token.getUsuarioId());
     }
 
     /**
-     * Genera un token JWT para un usuario dado.
+     * Genera un token JWT autocontenido con el ID, el estado y la generación de tokens del usuario,
+     * de modo que las solicitudes posteriores puedan autenticarse sin consultar la base de datos.
      *
-     * @param email el correo electrónico del usuario
+     * @param usuario el usuario autenticado
      * @return el token JWT generado
      */
-    public String generarToken(String email) {
-        // Crea un UserDetails temporal con el email del usuario.
-        UserDetails userDetails = new User(email, "", java.util.Collections.emptyList());
-
-        // Configura y genera el token JWT con los Claims necesarios.
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername()) // Establece el sujeto del token.
-                .setIssuedAt(new Date(System.currentTimeMillis())) // Establece la fecha de emisión del token.
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // Establece la fecha de expiración del token.
-                .signWith(SignatureAlgorithm.HS256, secret) // Firma el token con el algoritmo HS256.
-                .compact(); // Compacta el token para obtener la representación final.
+    public String generarToken(Usuario usuario) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USUARIO_ID, usuario.getId().toString());
+        claims.put(CLAIM_ACTIVO, usuario.isActivo());
+        // Solo lee la generación vigente: registrarla aquí volvería a crear la entrada de un usuario eliminado
+        // mientras iniciaba sesión. Un usuario sin entrada recibe SIN_USUARIO y su token nunca es aceptado.
+        claims.put(CLAIM_VERSION, versionSeguridadService.versionActual(usuario.getId()));
+        return generarToken(claims, new User(usuario.getCorreo(), "", java.util.Collections.emptyList()));
     }
 
     /**
@@ -130,7 +145,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername()) // Establece el sujeto del token.
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Establece la fecha de emisión del token.
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // Establece la fecha de expiración del token.
-                .signWith(SignatureAlgorithm.HS256, secret) // Firma el token con el algoritmo HS256.
+                .signWith(SignatureAlgorithm.HS256, claveFirma) // Firma el token con el algoritmo HS256.
                 .compact(); // Compacta el token para obtener la representación final.
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.dto.TelefonoDTO;
+import com.example.ejercicio.dto.UsuarioPatchDTO;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servicio que lee un documento merge patch de usuario en streaming, campo por campo,
+ * sin construir un árbol o mapa intermedio.
+ */
+@Service
+public class LectorMergePatchService {
+
+    // Inyecta el ObjectMapper de la aplicación para crear el parser y leer los teléfonos.
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Lee el documento y retorna los cambios que contiene.
+     *
+     * @param cuerpo el cuerpo de la solicitud
+     * @return los cambios, con la presencia de cada campo
+     * @throws IOException si no se puede leer el cuerpo
+     * @throws IllegalArgumentException si el documento no es un objeto o tiene campos o tipos inválidos
+     */
+    public UsuarioPatchDTO leer(InputStream cuerpo) throws IOException {
+        UsuarioPatchDTO patch = new UsuarioPatchDTO();
+        try (JsonParser parser = objectMapper.getFactory().createParser(cuerpo)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("El merge patch debe ser un objeto JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                switch (campo) {
+                    case "nombre" -> patch.setNombre(leerTexto(parser, campo));
+                    case "correo" -> patch.setCorreo(leerTexto(parser, campo));
+                    case "password" -> patch.setPassword(leerTexto(parser, campo));
+                    case "activo" -> patch.setActivo(leerBooleano(parser, campo));
+                    case "telefonos" -> patch.setTelefonos(leerTelefonos(parser, valor));
+                    default -> throw new IllegalArgumentException("Información desconocida: " + campo);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Merge patch mal formado: " + e.getOriginalMessage());
+        }
+        return patch;
+    }
+
+    private String leerTexto(JsonParser parser, String campo) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NULL -> null;
+            default -> throw new IllegalArgumentException("El campo " + campo + " debe ser texto");
+        };
+    }
+
+    private Boolean leerBooleano(JsonParser parser, String campo) {
+        return switch (parser.currentToken()) {
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> throw new IllegalArgumentException("El campo " + campo + " debe ser booleano");
+        };
+    }
+
+    /**
+     * Lee la lista de teléfonos; según RFC 7396 un arreglo reemplaza la lista completa y null la vacía.
+     */
+    private List<TelefonoDTO> leerTelefonos(JsonParser parser, JsonToken valor) throws IOException {
+        if (valor == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (valor != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("El campo telefonos debe ser un arreglo");
+        }
+        List<TelefonoDTO> telefonos = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException(ValidadorUsuarioService.TELEFONO_INVALIDO);
+            }
+            telefonos.add(objectMapper.readValue(parser, TelefonoDTO.class));
+        }
+        return telefonos;
+    }
+}
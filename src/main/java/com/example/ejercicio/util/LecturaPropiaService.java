@@ -0,0 +1,124 @@
+package com.example.ejercicio.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Servicio que recuerda qué usuarios escribieron recientemente, para que sus lecturas vean sus propios cambios.
+ * Mientras dure la ventana tras una escritura, las transacciones de solo lectura de ese usuario se envían a la
+ * base de datos primaria en lugar de a la réplica, que puede ir atrasada.
+ */
+@Service
+public class LecturaPropiaService {
+
+    // Instante (System.nanoTime) en que vence la ventana de cada usuario, identificado por su correo.
+    private final Map<String, Long> vencimientos = new ConcurrentHashMap<>();
+
+    // Usuario fijado para el hilo actual cuando aún no hay autenticación, como al cargarlo para autenticarlo.
+    private final ThreadLocal<String> usuarioEnCurso = new ThreadLocal<>();
+
+    // Duración de la ventana en nanosegundos.
+    private final long ventanaNanos;
+
+    /**
+     * Constructor que recibe la duración de la ventana de lectura propia.
+     *
+     * @param ventanaMs milisegundos durante los que las lecturas de un usuario van a la primaria tras escribir
+     */
+    public LecturaPropiaService(@Value("${usuarios.replica.ventana-lectura-propia-ms:2000}") long ventanaMs) {
+        this.ventanaNanos = TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+    }
+
+    /**
+     * Abre o extiende la ventana del usuario de la solicitud actual, si lo hay.
+     */
+    public void registrarEscritura() {
+        registrarEscritura(usuarioActual());
+    }
+
+    /**
+     * Abre o extiende la ventana del usuario indicado.
+     *
+     * @param usuario el correo del usuario que escribió; si es null no se registra nada
+     */
+    public void registrarEscritura(String usuario) {
+        if (usuario != null) {
+            vencimientos.put(usuario, System.nanoTime() + ventanaNanos);
+        }
+    }
+
+    /**
+     * Indica si el usuario de la solicitud actual escribió dentro de la ventana.
+     *
+     * @return true si sus lecturas deben ir a la primaria
+     */
+    public boolean dentroDeVentana() {
+        String usuario = usuarioActual();
+        if (usuario == null) {
+            return false;
+        }
+        Long vencimiento = vencimientos.get(usuario);
+        if (vencimiento == null) {
+            return false;
+        }
+        if (vencimiento - System.nanoTime() > 0) {
+            return true;
+        }
+        vencimientos.remove(usuario, vencimiento);
+        return false;
+    }
+
+    /**
+     * Ejecuta una operación como si la solicitud perteneciera al usuario indicado.
+     *
+     * @param usuario el correo del usuario
+     * @param operacion la operación a ejecutar
+     * @return el resultado de la operación
+     */
+    public <T> T ejecutarComo(String usuario, Supplier<T> operacion) {
+        String anterior = usuarioEnCurso.get();
+        usuarioEnCurso.set(usuario);
+        try {
+            return operacion.get();
+        } finally {
+            if (anterior == null) {
+                usuarioEnCurso.remove();
+            } else {
+                usuarioEnCurso.set(anterior);
+            }
+        }
+    }
+
+    /**
+     * Elimina las ventanas vencidas de los usuarios que no volvieron a leer.
+     */
+    @Scheduled(fixedDelayString = "${usuarios.replica.intervalo-purga-ms:60000}")
+    public void purgarVencidas() {
+        long ahora = System.nanoTime();
+        vencimientos.entrySet().removeIf(entrada -> entrada.getValue() - ahora <= 0);
+    }
+
+    /**
+     * Retorna el correo del usuario de la solicitud actual, o null si es anónima.
+     */
+    private String usuarioActual() {
+        String usuario = usuarioEnCurso.get();
+        if (usuario != null) {
+            return usuario;
+        }
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null || !autenticacion.isAuthenticated() || autenticacion instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return autenticacion.getName();
+    }
+}
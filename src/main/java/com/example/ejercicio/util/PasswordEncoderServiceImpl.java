@@ -1,5 +1,6 @@
 package com.example.ejercicio.util;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -13,12 +14,17 @@ public class PasswordEncoderServiceImpl {
     // Instancia de PasswordEncoder para manejar la codificación.
     private final PasswordEncoder passwordEncoder;
 
+    // Hash de referencia contra el que se verifican las contraseñas de correos inexistentes; se genera la primera vez que se usa.
+    private volatile String hashReferencia;
+
     /**
-     * Constructor que inicializa el PasswordEncoder con una instancia de BCryptPasswordEncoder.
+     * Constructor que recibe el codificador BCrypt compartido, con la fuerza calibrada al iniciar.
+     *
+     * @param passwordEncoder el codificador BCrypt de la aplicación.
      */
-    public PasswordEncoderServiceImpl() {
-        // Crear una nueva instancia de BCryptPasswordEncoder que será usada para codificar las contraseñas.
-        this.passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    public PasswordEncoderServiceImpl(BCryptPasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
     }
 
     /**
@@ -31,4 +37,33 @@ public class PasswordEncoderServiceImpl {
         // Utiliza el passwordEncoder para codificar la contraseña y retornar el valor codificado.
         return passwordEncoder.encode(password);
     }
+
+    /**
+     * Verifica una contraseña contra su hash almacenado. Sin hash, es decir sin usuario, la verifica contra un hash
+     * de referencia y retorna false, para que un correo inexistente tarde lo mismo que una contraseña incorrecta.
+     *
+     * @param password La contraseña en texto plano.
+     * @param passwordCodificada El hash almacenado, o null si el usuario no existe.
+     * @return true si la contraseña corresponde al hash.
+     */
+    public boolean verificarPassword(String password, String passwordCodificada) {
+        if (passwordCodificada == null) {
+            if (hashReferencia == null) {
+                hashReferencia = passwordEncoder.encode("referencia");
+            }
+            passwordEncoder.matches(password, hashReferencia);
+            return false;
+        }
+        return passwordEncoder.matches(password, passwordCodificada);
+    }
+
+    /**
+     * Indica si un hash almacenado fue generado con una fuerza menor a la configurada actualmente.
+     *
+     * @param passwordCodificada el hash almacenado.
+     * @return true si conviene volver a codificar la contraseña.
+     */
+    public boolean requiereRehash(String passwordCodificada) {
+        return passwordEncoder.upgradeEncoding(passwordCodificada);
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.ejercicio.util;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Vista inmutable de los reclamos de un token JWT cuya firma ya fue verificada.
+ * Se construye una sola vez por solicitud y se reutiliza para todas las comprobaciones.
+ */
+@Getter
+public final class TokenVerificado {
+
+    private final String subject;
+    private final UUID usuarioId;
+    private final Boolean activo;
+    private final Long version;
+    private final Date expiracion;
+
+    private TokenVerificado(String subject, UUID usuarioId, Boolean activo, Long version, Date expiracion) {
+        this.subject = subject;
+        this.usuarioId = usuarioId;
+        this.activo = activo;
+        this.version = version;
+        this.expiracion = expiracion;
+    }
+
+    /**
+     * Copia los reclamos relevantes a una vista inmutable.
+     *
+     * @param claims los reclamos verificados
+     * @return la vista del token
+     */
+    static TokenVerificado desde(Claims claims) {
+        String usuarioId = claims.get(JwtService.CLAIM_USUARIO_ID, String.class);
+        Object version = claims.get(JwtService.CLAIM_VERSION);
+        return new TokenVerificado(
+                claims.getSubject(),
+                usuarioId == null ? null : UUID.fromString(usuarioId),
+                claims.get(JwtService.CLAIM_ACTIVO, Boolean.class),
+                version == null ? null : ((Number) version).longValue(),
+                claims.getExpiration());
+    }
+
+    /**
+     * Indica si el token contiene los reclamos necesarios para autenticar sin consultar la base de datos.
+     *
+     * @return true si el token incluye ID, estado y versión del usuario
+     */
+    public boolean contieneClaimsDeSesion() {
+        return usuarioId != null && activo != null && version != null;
+    }
+
+    /**
+     * Comprueba la expiración contra el valor ya leído del token.
+     *
+     * @param ahora el instante de referencia
+     * @return true si el token ha expirado
+     */
+    public boolean isExpirado(Date ahora) {
+        return expiracion != null && expiracion.before(ahora);
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.model.Usuario;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio que registra el último inicio de sesión de los usuarios.
+ * Escribe con JDBC e invalida solo las entradas afectadas de la caché de segundo nivel.
+ * En modo de escritura diferida guarda en memoria solo el instante más reciente por usuario
+ * y lo escribe periódicamente con un único UPDATE en lote; si no, actualiza la fila en cada inicio de sesión.
+ * La memoria diferida está acotada: con el máximo de usuarios pendientes, los usuarios nuevos se escriben de inmediato.
+ */
+@Slf4j
+@Service
+public class UltimoLoginService {
+
+    private static final String ACTUALIZAR_ULTIMO_LOGIN = "update usuario set ultimo_login = ? where id = ?";
+
+    // Acceso JDBC para los UPDATE, sin pasar por el contexto de persistencia.
+    private final JdbcTemplate jdbcTemplate;
+
+    // Fábrica de EntityManager, para invalidar en la caché de segundo nivel los usuarios actualizados.
+    private final EntityManagerFactory entityManagerFactory;
+
+    // Habilita la escritura diferida.
+    private final boolean escrituraDiferida;
+
+    // Cantidad máxima de usuarios pendientes; al alcanzarla se escribe de inmediato y se adelanta la escritura.
+    private final int maximoPendientes;
+
+    // Filas por lote JDBC.
+    private final int tamanoLote;
+
+    // Último instante pendiente de escribir por usuario.
+    private final Map<UUID, LocalDateTime> pendientes = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean escribiendo = new AtomicBoolean();
+
+    // Planificador de la aplicación, donde se adelanta la escritura de los pendientes fuera del hilo de la solicitud.
+    private final TaskScheduler planificador;
+
+    // Evita programar otra escritura adelantada mientras una sigue pendiente.
+    private final AtomicBoolean escrituraAdelantada = new AtomicBoolean();
+
+    /**
+     * Constructor que registra la cantidad de pendientes como métrica.
+     */
+    public UltimoLoginService(JdbcTemplate jdbcTemplate,
+                              EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry,
+                              TaskScheduler planificador,
+                              @Value("${usuarios.ultimo-login.escritura-diferida:false}") boolean escrituraDiferida,
+                              @Value("${usuarios.ultimo-login.maximo-pendientes:10000}") int maximoPendientes,
+                              @Value("${usuarios.ultimo-login.tamano-lote:500}") int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.planificador = planificador;
+        this.escrituraDiferida = escrituraDiferida;
+        this.maximoPendientes = maximoPendientes;
+        this.tamanoLote = tamanoLote;
+
+        Gauge.builder("usuarios.ultimo-login.pendientes", pendientes, Map::size)
+                .description("Inicios de sesión registrados en memoria y aún no escritos en la base de datos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el inicio de sesión de un usuario.
+     *
+     * @param id el identificador del usuario
+     * @param instante el momento del inicio de sesión
+     */
+    public void registrar(UUID id, LocalDateTime instante) {
+        if (!escrituraDiferida) {
+            escribir(id, instante);
+            return;
+        }
+        // Un usuario ya pendiente no agranda el mapa; uno nuevo con el mapa lleno se escribe en este hilo,
+        // para que la memoria no crezca más allá del máximo aunque la base de datos no dé abasto.
+        if (pendientes.size() >= maximoPendientes && !pendientes.containsKey(id)) {
+            escribir(id, instante);
+            adelantarEscritura();
+            return;
+        }
+        // Conserva solo el instante más reciente de cada usuario.
+        pendientes.merge(id, instante, (actual, nuevo) -> nuevo.isAfter(actual) ? nuevo : actual);
+    }
+
+    /**
+     * Actualiza de inmediato la fila de un usuario.
+     */
+    private void escribir(UUID id, LocalDateTime instante) {
+        // Un UPDATE JPQL masivo vaciaría la región completa de Usuario en la caché de segundo nivel;
+        // con JDBC se invalida solo la entrada del usuario actualizado.
+        jdbcTemplate.update(ACTUALIZAR_ULTIMO_LOGIN, Timestamp.valueOf(instante), id);
+        entityManagerFactory.getCache().evict(Usuario.class, id);
+    }
+
+    /**
+     * Programa en el planificador una escritura de los pendientes antes del próximo intervalo, una sola a la vez.
+     */
+    private void adelantarEscritura() {
+        if (escrituraAdelantada.compareAndSet(false, true)) {
+            planificador.schedule(() -> {
+                escrituraAdelantada.set(false);
+                escribirPendientes();
+            }, Instant.now());
+        }
+    }
+
+    /**
+     * Escribe los inicios de sesión pendientes en lotes. Se ejecuta periódicamente, al superar el máximo
+     * de pendientes y al detener la aplicación.
+     */
+    @Scheduled(fixedDelayString = "${usuarios.ultimo-login.intervalo-ms:1000}")
+    public void escribirPendientes() {
+        if (pendientes.isEmpty() || !escribiendo.compareAndSet(false, true)) {
+            return;
+        }
+        List<Object[]> filas = new ArrayList<>(pendientes.size());
+        try {
+            pendientes.forEach((id, instante) -> {
+                // Si el usuario volvió a iniciar sesión entretanto, el valor nuevo queda para la próxima escritura.
+                if (pendientes.remove(id, instante)) {
+                    filas.add(new Object[]{Timestamp.valueOf(instante), id});
+                }
+            });
+            for (int desde = 0; desde < filas.size(); desde += tamanoLote) {
+                jdbcTemplate.batchUpdate(ACTUALIZAR_ULTIMO_LOGIN, filas.subList(desde, Math.min(filas.size(), desde + tamanoLote)));
+            }
+            // Las filas escritas por JDBC quedan obsoletas en la caché de segundo nivel.
+            for (Object[] fila : filas) {
+                entityManagerFactory.getCache().evict(Usuario.class, fila[1]);
+            }
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron escribir los últimos inicios de sesión pendientes", e);
+            // Devuelve las filas al mapa para reintentarlas; un lote ya escrito solo se vuelve a escribir igual.
+            for (Object[] fila : filas) {
+                LocalDateTime instante = ((Timestamp) fila[0]).toLocalDateTime();
+                pendientes.merge((UUID) fila[1], instante, (actual, nuevo) -> nuevo.isAfter(actual) ? nuevo : actual);
+            }
+        } finally {
+            escribiendo.set(false);
+        }
+    }
+
+    /**
+     * Escribe los pendientes antes de detener la aplicación.
+     */
+    @PreDestroy
+    public void detener() {
+        // Espera a que termine una escritura en curso para no perder los valores que tomó.
+        while (escribiendo.get()) {
+            Thread.onSpinWait();
+        }
+        escribirPendientes();
+    }
+}
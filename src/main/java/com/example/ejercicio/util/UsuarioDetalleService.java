@@ -20,15 +20,20 @@ public class UsuarioDetalleService implements UserDetailsService {
     // Dependencia al servicio UsuarioService para realizar operaciones relacionadas con los usuarios.
     private final UsuarioServiceImpl usuarioService;
 
+    // Servicio de ventanas de lectura propia, para leer de la primaria a quien acaba de registrarse.
+    private final LecturaPropiaService lecturaPropia;
+
     /**
      * Constructor que inyecta automáticamente UsuarioService.
      *
      * @param usuarioService el servicio que maneja operaciones de usuario.
+     * @param lecturaPropia el servicio de ventanas de lectura propia.
      */
     @Autowired
-    public UsuarioDetalleService(UsuarioServiceImpl usuarioService) {
+    public UsuarioDetalleService(UsuarioServiceImpl usuarioService, LecturaPropiaService lecturaPropia) {
         // Asigna el servicio de usuario inyectado a la propiedad local.
         this.usuarioService = usuarioService;
+        this.lecturaPropia = lecturaPropia;
     }
 
     /**
@@ -40,8 +45,9 @@ public class UsuarioDetalleService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        // Busca el usuario en el sistema usando el email proporcionado.
-        Usuario usuario = usuarioService.buscarPorEmail(email);
+        // Busca el usuario en el sistema usando el email proporcionado. Aún no hay autenticación, por lo que
+        // la búsqueda se hace a nombre de ese correo para respetar su ventana de lectura propia.
+        Usuario usuario = lecturaPropia.ejecutarComo(email, () -> usuarioService.buscarPorEmail(email));
 
         // Verifica si el usuario existe o no.
         if (usuario == null) {
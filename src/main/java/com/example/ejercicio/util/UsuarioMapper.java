@@ -0,0 +1,29 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.model.Usuario;
+import org.springframework.stereotype.Component;
+
+/**
+ * Componente que convierte entidades Usuario en los DTOs de respuesta de la API.
+ */
+@Component
+public class UsuarioMapper {
+
+    /**
+     * Construye el DTO de respuesta con los campos públicos del usuario.
+     *
+     * @param usuario la entidad a convertir
+     * @return el DTO de respuesta
+     */
+    public CreateResponseDTO construirResponseDTO(Usuario usuario) {
+        return CreateResponseDTO.builder()
+                .id(usuario.getId())
+                .nombre(usuario.getNombre())
+                .correo(usuario.getCorreo())
+                .creado(usuario.getCreado())
+                .ultimoLogin(usuario.getUltimoLogin())
+                .isActive(usuario.isActivo())
+                .build();
+    }
+}
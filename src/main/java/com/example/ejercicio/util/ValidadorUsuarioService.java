@@ -0,0 +1,165 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.dto.UsuarioDTO;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Servicio que valida el formato de correos y contraseñas con las reglas configuradas,
+ * compiladas una sola vez al iniciar.
+ */
+@Service
+public class ValidadorUsuarioService {
+
+    /**
+     * Expresión de contraseña por defecto. Cuando la configurada es esta, se usa un verificador
+     * de una sola pasada con la misma semántica en lugar de la expresión con varios lookaheads.
+     */
+    public static final String PASSWORD_REGEX_POR_DEFECTO =
+            "^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=.*[@#$%^&+=!])(?=\\S+$).{8,}$";
+
+    // Mensaje de error para un correo con formato inválido.
+    public static final String CORREO_INVALIDO = "Formato de correo electrónico inválido";
+
+    // Mensaje de error para una contraseña con formato inválido.
+    public static final String PASSWORD_INVALIDA = "Formato de contraseña inválido";
+
+    // Mensaje de error para un elemento nulo o que no es un objeto en la lista de teléfonos.
+    public static final String TELEFONO_INVALIDO = "Cada elemento de telefonos debe ser un objeto";
+
+    // Carga la expresión regular para validar correos electrónicos desde las propiedades de configuración.
+    @Value("${email.regex}")
+    private String emailRegex;
+
+    // Carga la expresión regular para validar contraseñas desde las propiedades de configuración.
+    @Value("${password.regex}")
+    private String passwordRegex;
+
+    // Expresión de correo compilada.
+    private Pattern patronCorreo;
+
+    // Regla de contraseña: verificador de una pasada o expresión compilada.
+    private Predicate<String> reglaPassword;
+
+    /**
+     * Compila las reglas configuradas.
+     */
+    @PostConstruct
+    void inicializar() {
+        this.patronCorreo = Pattern.compile(emailRegex);
+        if (PASSWORD_REGEX_POR_DEFECTO.equals(passwordRegex)) {
+            this.reglaPassword = ValidadorUsuarioService::passwordValidaUnaPasada;
+        } else {
+            Pattern patronPassword = Pattern.compile(passwordRegex);
+            this.reglaPassword = password -> patronPassword.matcher(password).matches();
+        }
+    }
+
+    /**
+     * Verifica el formato de un correo.
+     *
+     * @param correo el correo a validar
+     * @return true si el correo cumple la expresión configurada
+     */
+    public boolean correoValido(String correo) {
+        return correo != null && patronCorreo.matcher(correo).matches();
+    }
+
+    /**
+     * Verifica el formato de una contraseña.
+     *
+     * @param password la contraseña a validar
+     * @return true si la contraseña cumple la regla configurada
+     */
+    public boolean passwordValida(String password) {
+        return password != null && reglaPassword.test(password);
+    }
+
+    /**
+     * Valida correo y contraseña, lanzando una excepción con el primer error encontrado.
+     *
+     * @param correo el correo a validar
+     * @param password la contraseña a validar
+     * @throws IllegalArgumentException si alguno de los formatos es inválido
+     */
+    public void validarFormato(String correo, String password) {
+        String error = errorDeFormato(correo, password);
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+    }
+
+    /**
+     * Valida un lote de usuarios de una sola vez: formato de correo y contraseña, y que la lista de teléfonos,
+     * si viene, no tenga elementos nulos.
+     *
+     * @param usuarios los DTOs a validar
+     * @return para cada posición, el mensaje de error o null si el usuario es válido
+     */
+    public List<String> validarLote(List<UsuarioDTO> usuarios) {
+        List<String> errores = new ArrayList<>(usuarios.size());
+        for (UsuarioDTO usuario : usuarios) {
+            String error = errorDeFormato(usuario.getCorreo(), usuario.getPassword());
+            if (error == null && usuario.getTelefonos() != null && usuario.getTelefonos().contains(null)) {
+                error = TELEFONO_INVALIDO;
+            }
+            errores.add(error);
+        }
+        return errores;
+    }
+
+    private String errorDeFormato(String correo, String password) {
+        if (!correoValido(correo)) {
+            return CORREO_INVALIDO;
+        }
+        if (!passwordValida(password)) {
+            return PASSWORD_INVALIDA;
+        }
+        return null;
+    }
+
+    /**
+     * Equivalente de una sola pasada a PASSWORD_REGEX_POR_DEFECTO evaluada con Pattern.matches:
+     * al menos 8 puntos de código, sin espacios ni terminadores de línea, y al menos un dígito,
+     * una minúscula, una mayúscula y uno de los caracteres especiales @#$%^&amp;+=!.
+     *
+     * @param password la contraseña a validar
+     * @return true si cumple la regla
+     */
+    public static boolean passwordValidaUnaPasada(String password) {
+        boolean digito = false;
+        boolean minuscula = false;
+        boolean mayuscula = false;
+        boolean especial = false;
+        int puntosDeCodigo = 0;
+
+        for (int i = 0; i < password.length(); ) {
+            int c = password.codePointAt(i);
+            i += Character.charCount(c);
+            puntosDeCodigo++;
+            switch (c) {
+                // \S excluye estos espacios; '.' excluye los terminadores de línea.
+                case ' ', '\t', '\n', 0x0B, '\f', '\r', 0x85, 0x2028, 0x2029:
+                    return false;
+                case '@', '#', '$', '%', '^', '&', '+', '=', '!':
+                    especial = true;
+                    break;
+                default:
+                    if (c >= '0' && c <= '9') {
+                        digito = true;
+                    } else if (c >= 'a' && c <= 'z') {
+                        minuscula = true;
+                    } else if (c >= 'A' && c <= 'Z') {
+                        mayuscula = true;
+                    }
+            }
+        }
+        return puntosDeCodigo >= 8 && digito && minuscula && mayuscula && especial;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ejercicio.util;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio que mantiene en memoria la generación de tokens de cada usuario, copia de la columna
+ * generacion_token. Los tokens llevan la generación vigente al emitirse; al incrementarla en la base de datos
+ * y registrarla aquí, todos los tokens anteriores del usuario dejan de ser aceptados sin consultar la base de datos.
+ * Un usuario sin entrada no existe, de modo que los tokens de usuarios eliminados también se rechazan.
+ */
+@Service
+// La tabla la crea Hibernate; se espera a que esté lista antes de cargarla.
+@DependsOn("entityManagerFactory")
+public class VersionSeguridadService {
+
+    // Generación que se informa para los usuarios desconocidos; ningún token la lleva.
+    public static final long SIN_USUARIO = -1L;
+
+    private static final String CONSULTA_GENERACIONES = "select id, generacion_token from usuario";
+
+    // Acceso JDBC para cargar las generaciones sin pasar por el contexto de persistencia.
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Generación vigente por ID de usuario.
+    private final Map<UUID, Long> generaciones = new ConcurrentHashMap<>();
+
+    /**
+     * Carga las generaciones de todos los usuarios antes de que la aplicación atienda solicitudes.
+     * La tabla queda igual a la base de datos: los usuarios que ya no existen se olvidan,
+     * de modo que tras un reinicio siguen rechazados los tokens revocados o de usuarios eliminados.
+     */
+    @PostConstruct
+    public void recargar() {
+        Map<UUID, Long> guardadas = new HashMap<>();
+        jdbcTemplate.query(CONSULTA_GENERACIONES, (RowCallbackHandler) fila ->
+                guardadas.put(fila.getObject(1, UUID.class), fila.getLong(2)));
+        generaciones.keySet().retainAll(guardadas.keySet());
+        guardadas.forEach(this::registrar);
+    }
+
+    /**
+     * Retorna la generación de tokens vigente del usuario.
+     *
+     * @param usuarioId el ID del usuario
+     * @return la generación vigente, o SIN_USUARIO si el usuario no existe
+     */
+    public long versionActual(UUID usuarioId) {
+        return generaciones.getOrDefault(usuarioId, SIN_USUARIO);
+    }
+
+    /**
+     * Registra la generación de un usuario leída o escrita en la base de datos. Nunca retrocede:
+     * si ya hay una mayor, por ejemplo porque la entidad leída estaba en caché, se conserva esa.
+     *
+     * @param usuarioId el ID del usuario
+     * @param generacion la generación guardada en la base de datos
+     * @return la generación vigente tras registrarla
+     */
+    public long registrar(UUID usuarioId, long generacion) {
+        return generaciones.merge(usuarioId, generacion, Math::max);
+    }
+
+    /**
+     * Olvida a un usuario eliminado, revocando todos sus tokens.
+     *
+     * @param usuarioId el ID del usuario
+     */
+    public void eliminar(UUID usuarioId) {
+        generaciones.remove(usuarioId);
+    }
+}
@@ -1,8 +1,13 @@
 CREATE TABLE Telefono (
     id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
     numero VARCHAR(20) NOT NULL,
-    codigoCiudad VARCHAR(10),
-    codigoPais VARCHAR(5),
+    codigo_ciudad VARCHAR(10),
+    codigo_pais VARCHAR(5),
+    -- Dígitos de código de país, código de ciudad y número separados por '-', por ejemplo 57-1-1234567.
+    clave_normalizada VARCHAR(40),
     user_id UUID,
     CONSTRAINT fk_usuario FOREIGN KEY (user_id) REFERENCES Usuario(id) ON DELETE CASCADE
 );
+
+CREATE INDEX idx_telefono_componentes ON Telefono (codigo_pais, codigo_ciudad, numero);
+CREATE INDEX idx_telefono_clave_normalizada ON Telefono (clave_normalizada);
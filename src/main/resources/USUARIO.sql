@@ -4,8 +4,11 @@ CREATE TABLE Usuario (
     correo VARCHAR(255) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     activo BOOLEAN NOT NULL,
-    token VARCHAR(255),
+    -- Generación de tokens vigente; al incrementarla se revocan los tokens emitidos antes.
+    generacion_token BIGINT NOT NULL DEFAULT 0,
+    -- Versión para el bloqueo optimista (@Version).
+    version BIGINT DEFAULT 0 NOT NULL,
     creado TIMESTAMP NOT NULL DEFAULT NOW(),
     modificado TIMESTAMP NOT NULL DEFAULT NOW(),
-    ultimoLogin TIMESTAMP
+    ultimo_login TIMESTAMP
 );
@@ -0,0 +1,140 @@
+package com.example.ejercicio.configure;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.service.UsuarioService;
+import com.example.ejercicio.util.LectorMergePatchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Enrutamiento con usuarios.replica.habilitada=true: tras una escritura las lecturas del mismo usuario van a la
+ * primaria, y al vencer la ventana de lectura propia vuelven a la réplica. La réplica es otra base H2 que solo
+ * recibe las filas que la prueba copia, como una réplica atrasada: cada lectura muestra de qué lado salió.
+ */
+@SpringBootTest(properties = {
+        "usuarios.replica.ventana-lectura-propia-ms=" + EnrutamientoReplicaTest.VENTANA_MS,
+        "usuarios.replica.url=jdbc:h2:mem:replica-prueba;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:replica-esquema.sql'"})
+@ActiveProfiles({"test", "replica"})
+class EnrutamientoReplicaTest {
+
+    static final long VENTANA_MS = 1000;
+
+    private static final String CORREO = "replica@prueba.org";
+
+    private static final String COLUMNAS = "id, nombre, correo, password, activo, generacion_token, creado, modificado, "
+            + "ultimo_login, version";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private LectorMergePatchService lectorMergePatch;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Fuera de una transacción de solo lectura, el JdbcTemplate de la aplicación usa la primaria.
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    @Qualifier("dataSourceReplica")
+    private DataSource dataSourceReplica;
+
+    @AfterEach
+    void limpiarContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lecturaTrasEscribirVaALaPrimariaYAlVencerLaVentanaALaReplica() throws Exception {
+        CreateResponseDTO creado = usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Replica")
+                .correo(CORREO)
+                .password("Clave#2024")
+                .telefonos(new ArrayList<>())
+                .build());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                CORREO, null, List.of(new SimpleGrantedAuthority("USER"))));
+        String id = creado.getId().toString();
+
+        // El alta abrió la ventana a nombre del correo creado: se lee el usuario que solo tiene la primaria.
+        assertEquals(Optional.of("Replica"), nombreLeido(EnrutadorDataSource.PRIMARIA, "lectura-propia", id));
+
+        // Al vencer la ventana se lee la réplica, que aún no recibió el alta.
+        Thread.sleep(VENTANA_MS + 200);
+        assertEquals(Optional.empty(), nombreLeido(EnrutadorDataSource.REPLICA, "lectura", id));
+        replicar(creado.getId());
+        assertEquals(Optional.of("Replica"), nombreLeido(EnrutadorDataSource.REPLICA, "lectura", id));
+
+        // El patch escribe en la primaria y vuelve a abrir la ventana.
+        assertEquals(1, lecturas(EnrutadorDataSource.PRIMARIA, "lectura-escritura", () ->
+                usuarioService.patchUsuario(id, lectorMergePatch.leer(new ByteArrayInputStream(
+                        "{\"nombre\": \"Replica parchada\"}".getBytes(StandardCharsets.UTF_8))))));
+        assertEquals(Optional.of("Replica parchada"), nombreLeido(EnrutadorDataSource.PRIMARIA, "lectura-propia", id));
+
+        // Sin ventana se vuelve a la réplica, que conserva el nombre anterior.
+        Thread.sleep(VENTANA_MS + 200);
+        assertEquals(Optional.of("Replica"), nombreLeido(EnrutadorDataSource.REPLICA, "lectura", id));
+    }
+
+    /**
+     * Busca el usuario por ID, verifica que el enrutador entregó una conexión con ese destino y motivo,
+     * y retorna el nombre leído.
+     */
+    private Optional<String> nombreLeido(String destino, String motivo, String id) throws Exception {
+        @SuppressWarnings("unchecked")
+        Optional<CreateResponseDTO>[] usuario = new Optional[1];
+        assertEquals(1, lecturas(destino, motivo, () -> usuario[0] = usuarioService.findById(id)));
+        return usuario[0].map(CreateResponseDTO::getNombre);
+    }
+
+    /**
+     * Copia a la réplica la fila actual del usuario en la primaria.
+     */
+    private void replicar(UUID id) {
+        Map<String, Object> fila = jdbcTemplate.queryForMap("select " + COLUMNAS + " from usuario where id = ?", id);
+        new JdbcTemplate(dataSourceReplica).update(
+                "merge into usuario (" + COLUMNAS + ") key (id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                fila.values().toArray());
+    }
+
+    /**
+     * Ejecuta la operación y retorna cuántas conexiones entregó el enrutador con ese destino y motivo.
+     */
+    private long lecturas(String destino, String motivo, Operacion operacion) throws Exception {
+        double antes = contador(destino, motivo);
+        operacion.ejecutar();
+        return Math.round(contador(destino, motivo) - antes);
+    }
+
+    private double contador(String destino, String motivo) {
+        return meterRegistry.counter("usuarios.datasource.enrutamiento", "destino", destino, "motivo", motivo).count();
+    }
+
+    @FunctionalInterface
+    private interface Operacion {
+        Object ejecutar() throws Exception;
+    }
+}
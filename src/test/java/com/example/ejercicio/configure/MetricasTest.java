@@ -0,0 +1,103 @@
+package com.example.ejercicio.configure;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Una solicitud autenticada registra los temporizadores de las etapas de JwFilter, del servicio de usuarios
+ * y de BCrypt, y todos se publican en /actuator/prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricasTest {
+
+    private static final String CORREO = "metricas@prueba.org";
+    private static final String PASSWORD = "Clave#2024";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void solicitudAutenticadaRegistraLosTemporizadores() throws Exception {
+        long codificaciones = cuenta("usuarios.bcrypt", "operacion", "codificar");
+        long verificaciones = cuenta("usuarios.bcrypt", "operacion", "verificar");
+        long verificacionesToken = cuenta("usuarios.jwt.filtro", "etapa", "verificacion");
+        long sesiones = cuenta("usuarios.jwt.filtro", "etapa", "sesion");
+        long busquedas = cuenta("usuarios.servicio", "method", "findById");
+
+        String creado = completar(post("/api/auth/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"Metricas\", \"correo\": \"" + CORREO + "\", \"password\": \""
+                        + PASSWORD + "\", \"telefonos\": []}"));
+        String id = JsonPath.read(creado, "$.id");
+        String sesion = completar(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"correo\": \"" + CORREO + "\", \"password\": \"" + PASSWORD + "\"}"));
+        String token = JsonPath.read(sesion, "$.token");
+
+        mockMvc.perform(get("/api/usuarios/" + id).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertEquals(codificaciones + 1, cuenta("usuarios.bcrypt", "operacion", "codificar"));
+        assertEquals(verificaciones + 1, cuenta("usuarios.bcrypt", "operacion", "verificar"));
+        // Con la autenticación sin estado, el filtro verifica el token y la sesión sin cargar el usuario.
+        assertEquals(verificacionesToken + 1, cuenta("usuarios.jwt.filtro", "etapa", "verificacion"));
+        assertEquals(sesiones + 1, cuenta("usuarios.jwt.filtro", "etapa", "sesion"));
+        assertEquals(busquedas + 1, cuenta("usuarios.servicio", "method", "findById"));
+
+        String prometheus = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(prometheus.contains("usuarios_jwt_filtro_seconds_count{etapa=\"verificacion\"}"), prometheus);
+        assertTrue(prometheus.contains("usuarios_jwt_filtro_seconds_count{etapa=\"sesion\"}"), prometheus);
+        assertTrue(prometheus.lines().anyMatch(linea -> linea.startsWith("usuarios_servicio_seconds_count{")
+                && linea.contains("method=\"findById\"")), prometheus);
+        assertTrue(prometheus.lines().anyMatch(linea -> linea.startsWith("usuarios_bcrypt_seconds_count{")
+                && linea.contains("operacion=\"verificar\"")), prometheus);
+    }
+
+    /**
+     * Ejecuta una solicitud asíncrona de autenticación y retorna el cuerpo de su respuesta.
+     */
+    private String completar(MockHttpServletRequestBuilder solicitud) throws Exception {
+        MvcResult inicio = mockMvc.perform(solicitud)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    /**
+     * Cantidad de registros del temporizador con la etiqueta indicada, o 0 si aún no existe.
+     */
+    private long cuenta(String nombre, String etiqueta, String valor) {
+        Timer temporizador = meterRegistry.find(nombre).tag(etiqueta, valor).timer();
+        return temporizador == null ? 0 : temporizador.count();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.ejercicio.configure;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.service.UsuarioService;
+import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.VersionSeguridadService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Revocación de tokens en JwFilter: solo se aceptan tokens con reclamos de sesión y de la generación vigente.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RevocacionTokenTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tokenVigenteEsAceptado() throws Exception {
+        Usuario usuario = crearUsuario("vigente@prueba.org");
+
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generarToken(usuario)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void tokenSinReclamosDeSesionEsRechazado() throws Exception {
+        Usuario usuario = crearUsuario("sin-reclamos@prueba.org");
+        String token = jwtService.generarToken(new HashMap<>(), new User(usuario.getCorreo(), "", Collections.emptyList()));
+
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void loginQueCompiteConEliminacionNoRecreaLaGeneracion() throws Exception {
+        Usuario usuario = crearUsuario("eliminado@prueba.org");
+        usuarioService.deleteUsuario(usuario.getId().toString());
+
+        // El login leyó al usuario antes de la eliminación y emite el token después.
+        String token = jwtService.generarToken(usuario);
+
+        assertEquals(VersionSeguridadService.SIN_USUARIO, versionSeguridadService.versionActual(usuario.getId()));
+        mockMvc.perform(get("/api/usuarios/" + usuario.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tokensRevocadosSiguenRechazadosTrasRecargarLaTabla() throws Exception {
+        Usuario revocado = crearUsuario("reinicio-revocado@prueba.org");
+        Usuario eliminado = crearUsuario("reinicio-eliminado@prueba.org");
+        Usuario vigente = crearUsuario("reinicio-vigente@prueba.org");
+        String tokenRevocado = jwtService.generarToken(revocado);
+        String tokenEliminado = jwtService.generarToken(eliminado);
+        String tokenVigente = jwtService.generarToken(vigente);
+
+        // Cambios confirmados en la base de datos que la tabla en memoria no vio, como los de antes de un reinicio.
+        jdbcTemplate.update("update usuario set generacion_token = generacion_token + 1 where id = ?", revocado.getId());
+        jdbcTemplate.update("delete from usuario where id = ?", eliminado.getId());
+        versionSeguridadService.recargar();
+
+        mockMvc.perform(get("/api/usuarios/" + vigente.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenRevocado))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/usuarios/" + vigente.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenEliminado))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/usuarios/" + vigente.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenVigente))
+                .andExpect(status().isOk());
+    }
+
+    private Usuario crearUsuario(String correo) {
+        LocalDateTime ahora = LocalDateTime.now();
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nombre("Revocacion")
+                .correo(correo)
+                .password("hash")
+                .activo(true)
+                .creado(ahora)
+                .ultimoLogin(ahora)
+                .telefonos(new ArrayList<>())
+                .build());
+        versionSeguridadService.registrar(usuario.getId(), usuario.getGeneracionToken());
+        return usuario;
+    }
+}
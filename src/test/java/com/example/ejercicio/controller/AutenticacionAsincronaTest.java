@@ -0,0 +1,120 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.service.UsuarioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con el grupo de hashing ocupado, el inicio de sesión y el registro devuelven el hilo de la solicitud de inmediato:
+ * las solicitudes encoladas quedan en modo asíncrono y las que no caben reciben 503 sin esperar.
+ */
+@SpringBootTest(properties = {"hashing.hilos=1", "hashing.capacidad-cola=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AutenticacionAsincronaTest {
+
+    private static final String CORREO = "asincrono@prueba.org";
+    private static final String PASSWORD = "Clave#2024";
+    private static final Duration SIN_ESPERA = Duration.ofSeconds(5);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @MockitoSpyBean
+    private BCryptPasswordEncoder passwordEncoder;
+
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void liberarGrupo() {
+        liberar.countDown();
+    }
+
+    @Test
+    void grupoSaturadoNoRetieneHilosDeLaSolicitud() throws Exception {
+        usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Asincrono")
+                .correo(CORREO)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>())
+                .build());
+
+        // Desde aquí cada operación BCrypt espera a que la prueba la libere.
+        CountDownLatch ocupado = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            ocupado.countDown();
+            liberar.await();
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).matches(any(), anyString());
+        doAnswer(invocacion -> {
+            liberar.await();
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+
+        // El único hilo de hashing queda tomado y la solicitud vuelve sin esperar el resultado.
+        MvcResult enCurso = assertTimeoutPreemptively(SIN_ESPERA, () -> mockMvc.perform(login())
+                .andExpect(request().asyncStarted())
+                .andReturn());
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        // La siguiente ocupa el único lugar de la cola y también vuelve de inmediato.
+        MvcResult encolado = assertTimeoutPreemptively(SIN_ESPERA, () -> mockMvc.perform(registro())
+                .andExpect(request().asyncStarted())
+                .andReturn());
+        // Con el grupo y la cola llenos, se rechaza sin esperar, con un futuro ya completado.
+        MvcResult rechazado = assertTimeoutPreemptively(SIN_ESPERA, () -> mockMvc.perform(login())
+                .andExpect(request().asyncStarted())
+                .andReturn());
+        mockMvc.perform(asyncDispatch(rechazado))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        // Al liberar el grupo, las solicitudes pendientes terminan normalmente.
+        liberar.countDown();
+        mockMvc.perform(asyncDispatch(enCurso)).andExpect(status().isOk());
+        mockMvc.perform(asyncDispatch(encolado)).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder login() {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"correo\": \"" + CORREO + "\", \"password\": \"" + PASSWORD + "\"}");
+    }
+
+    private static MockHttpServletRequestBuilder registro() {
+        return post("/api/auth/create")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nombre\": \"Encolado\", \"correo\": \"encolado@prueba.org\", \"password\": \""
+                        + PASSWORD + "\", \"telefonos\": []}");
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.TelefonoDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.service.UsuarioService;
+import com.example.ejercicio.util.JwtService;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags de /api/usuarios/findAll y /api/usuarios/{id}: 304 mientras el contenido no cambia y un ETag nuevo
+ * después de cada PUT o PATCH. Cada página del listado tiene su propio ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EtagUsuariosTest {
+
+    private static final String PASSWORD = "Clave#2024";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void listadoRespondeNoModificadoHastaQueCambiaUnUsuario() throws Exception {
+        UUID id = crearUsuario("etag-listado@prueba.org");
+        String etag = etagVigente("/api/usuarios/findAll", id);
+
+        actualizar(id, "etag-listado-put@prueba.org");
+        String etagTrasPut = etagVigente("/api/usuarios/findAll", id);
+        assertNotEquals(etag, etagTrasPut);
+
+        parchar(id, "{\"nombre\": \"Listado parchado\"}");
+        assertNotEquals(etagTrasPut, etagVigente("/api/usuarios/findAll", id));
+    }
+
+    @Test
+    void cadaPaginaDelListadoTieneSuPropioEtag() throws Exception {
+        UUID id = crearUsuario("etag-pagina-uno@prueba.org");
+        crearUsuario("etag-pagina-dos@prueba.org");
+
+        String completo = etagVigente("/api/usuarios/findAll", id);
+        String primera = etagVigente("/api/usuarios/findAll?tamano=1", id);
+        String mayor = etagVigente("/api/usuarios/findAll?tamano=2", id);
+        assertNotEquals(completo, primera);
+        assertNotEquals(primera, mayor);
+        // Un tamaño fuera de rango se normaliza al mismo que pide la página, igual que su ETag.
+        assertEquals(primera, etagVigente("/api/usuarios/findAll?tamano=0", id));
+
+        String cursor = JsonPath.read(mockMvc.perform(get("/api/usuarios/findAll?tamano=1")
+                        .header(HttpHeaders.AUTHORIZATION, autorizacion(id)))
+                .andReturn().getResponse().getContentAsString(), "$.siguienteCursor");
+        String segunda = etagVigente("/api/usuarios/findAll?tamano=1&cursor=" + cursor, id);
+        assertNotEquals(primera, segunda);
+        // Una página de la que no se tiene copia no puede responder 304 con el ETag de otra.
+        mockMvc.perform(get("/api/usuarios/findAll?tamano=1&cursor=" + cursor)
+                        .header(HttpHeaders.AUTHORIZATION, autorizacion(id))
+                        .header(HttpHeaders.IF_NONE_MATCH, primera))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void usuarioRespondeNoModificadoHastaQueCambia() throws Exception {
+        UUID id = crearUsuario("etag-id@prueba.org");
+        String etag = etagVigente("/api/usuarios/" + id, id);
+
+        actualizar(id, "etag-id-put@prueba.org");
+        String etagTrasPut = etagVigente("/api/usuarios/" + id, id);
+        assertNotEquals(etag, etagTrasPut);
+
+        parchar(id, "{\"nombre\": \"Id parchado\"}");
+        assertNotEquals(etagTrasPut, etagVigente("/api/usuarios/" + id, id));
+    }
+
+    /**
+     * Pide el recurso, comprueba que responde 200 con ETag y que el mismo ETag en If-None-Match da 304.
+     */
+    private String etagVigente(String ruta, UUID id) throws Exception {
+        String etag = mockMvc.perform(get(ruta).header(HttpHeaders.AUTHORIZATION, autorizacion(id)))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        mockMvc.perform(get(ruta)
+                        .header(HttpHeaders.AUTHORIZATION, autorizacion(id))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        return etag;
+    }
+
+    private void actualizar(UUID id, String correo) throws Exception {
+        mockMvc.perform(put("/api/usuarios/update/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, autorizacion(id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Etag\", \"correo\": \"" + correo + "\", \"password\": \"" + PASSWORD
+                                + "\", \"telefonos\": [{\"numero\": \"1234567\", \"codigoCiudad\": \"1\", \"codigoPais\": \"57\"}]}"))
+                .andExpect(status().isOk());
+    }
+
+    private void parchar(UUID id, String documento) throws Exception {
+        mockMvc.perform(patch("/api/usuarios/patch/" + id)
+                        .header(HttpHeaders.AUTHORIZATION, autorizacion(id))
+                        .contentType("application/merge-patch+json")
+                        .content(documento))
+                .andExpect(status().isOk());
+    }
+
+    private UUID crearUsuario(String correo) {
+        CreateResponseDTO creado = usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Etag")
+                .correo(correo)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>(List.of(new TelefonoDTO("1234567", "1", "57"))))
+                .build());
+        return creado.getId();
+    }
+
+    // Un PUT que cambia el correo revoca los tokens anteriores, así que cada solicitud usa uno de la generación vigente.
+    private String autorizacion(UUID id) {
+        return "Bearer " + jwtService.generarToken(usuarioRepository.findById(id).orElseThrow());
+    }
+}
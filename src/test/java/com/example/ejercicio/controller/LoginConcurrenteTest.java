@@ -0,0 +1,73 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Inicios de sesión concurrentes con más solicitudes que conexiones: mientras una solicitud espera a BCrypt
+ * no retiene la conexión con la que leyó al usuario, así que ninguna queda esperando una conexión que no llega.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "hashing.hilos=1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginConcurrenteTest {
+
+    private static final String CORREO = "login-concurrente@prueba.org";
+    private static final String PASSWORD = "Clave#2024";
+    private static final int SOLICITUDES = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Test
+    void loginsConcurrentesNoAgotanLasConexiones() throws Exception {
+        usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Concurrente")
+                .correo(CORREO)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>())
+                .build());
+
+        List<Future<Integer>> respuestas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(SOLICITUDES)) {
+            for (int i = 0; i < SOLICITUDES; i++) {
+                respuestas.add(executor.submit(() -> {
+                    MvcResult inicio = mockMvc.perform(post("/api/auth/login")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("{\"correo\": \"" + CORREO + "\", \"password\": \"" + PASSWORD + "\"}"))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+                    return mockMvc.perform(asyncDispatch(inicio)).andReturn().getResponse().getStatus();
+                }));
+            }
+        }
+        for (Future<Integer> respuesta : respuestas) {
+            assertEquals(200, respuesta.get());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.VersionSeguridadService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paginación por clave de /api/usuarios/findAll?cursor=&tamano=: recorre todas las páginas sin repetir ni omitir
+ * usuarios, también cuando varios comparten la fecha de creación, y rechaza cursores mal formados con 400.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PaginacionUsuariosTest {
+
+    private static final int TAMANO = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void crearUsuarios() {
+        // Tres usuarios con el mismo instante de creación obligan a desempatar por ID dentro de una página y entre páginas.
+        LocalDateTime creado = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Usuario usuario = null;
+        for (int i = 0; i < 5; i++) {
+            usuario = guardar("pagina-" + System.nanoTime() + "@prueba.org", i < 3 ? creado : creado.plusSeconds(i));
+        }
+        token = jwtService.generarToken(usuario);
+    }
+
+    @Test
+    void recorrerTodasLasPaginasNoRepiteNiOmiteUsuarios() throws Exception {
+        List<String> ids = new ArrayList<>();
+        int paginas = 0;
+        String cursor = null;
+        do {
+            JsonNode pagina = pedirPagina(cursor);
+            assertTrue(pagina.get("usuarios").size() <= TAMANO);
+            pagina.get("usuarios").forEach(usuario -> ids.add(usuario.get("id").asText()));
+            JsonNode siguiente = pagina.get("siguienteCursor");
+            cursor = siguiente == null || siguiente.isNull() ? null : siguiente.asText();
+            paginas++;
+        } while (cursor != null);
+
+        Set<String> distintos = new HashSet<>(ids);
+        assertEquals(ids.size(), distintos.size(), "Usuarios repetidos entre páginas");
+        Set<String> esperados = new HashSet<>();
+        usuarioRepository.findAll().forEach(usuario -> esperados.add(usuario.getId().toString()));
+        assertEquals(esperados, distintos);
+        assertTrue(paginas > 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"no*es*base64", "c2luLXNlcGFyYWRvcg", "eHx5"})
+    void cursorMalFormadoEsSolicitudInvalida(String cursor) throws Exception {
+        mockMvc.perform(get("/api/usuarios/findAll")
+                        .param("cursor", cursor)
+                        .param("tamano", String.valueOf(TAMANO))
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode pedirPagina(String cursor) throws Exception {
+        var solicitud = get("/api/usuarios/findAll")
+                .param("tamano", String.valueOf(TAMANO))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (cursor != null) {
+            solicitud.param("cursor", cursor);
+        }
+        String cuerpo = mockMvc.perform(solicitud)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(cuerpo);
+    }
+
+    private Usuario guardar(String correo, LocalDateTime creado) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nombre("Pagina")
+                .correo(correo)
+                .password("hash")
+                .activo(true)
+                .creado(creado)
+                .ultimoLogin(creado)
+                .telefonos(new ArrayList<>())
+                .build());
+        versionSeguridadService.registrar(usuario.getId(), usuario.getGeneracionToken());
+        return usuario;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.VersionSeguridadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Negociación del formato de /api/usuarios/findAll/stream: NDJSON salvo que el Accept pida CBOR o Smile,
+ * y 406 si el Accept no admite ninguno de los tres.
+ * También la del listado sin streaming, que usa los conversores de Spring MVC.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransmisionUsuariosTest {
+
+    private static final String CORREO = "stream@prueba.org";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String token;
+
+    @BeforeEach
+    void crearUsuario() {
+        Usuario usuario = usuarioRepository.buscarPorCorreo(CORREO);
+        if (usuario == null) {
+            LocalDateTime ahora = LocalDateTime.now();
+            usuario = usuarioRepository.save(Usuario.builder()
+                    .nombre("Stream")
+                    .correo(CORREO)
+                    .password("hash")
+                    .activo(true)
+                    .creado(ahora)
+                    .ultimoLogin(ahora)
+                    .telefonos(new ArrayList<>())
+                    .build());
+            versionSeguridadService.registrar(usuario.getId(), usuario.getGeneracionToken());
+        }
+        token = jwtService.generarToken(usuario);
+    }
+
+    @Test
+    void sinAcceptTransmiteNdjson() throws Exception {
+        transmitir(get("/api/usuarios/findAll/stream"), "application/x-ndjson");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"*/*", "application/x-ndjson", "application/*", "application/json, */*;q=0.1"})
+    void acceptGenericoONdjsonTransmiteNdjson(String accept) throws Exception {
+        MvcResult resultado = transmitir(get("/api/usuarios/findAll/stream").header(HttpHeaders.ACCEPT, accept),
+                "application/x-ndjson");
+        content().string(containsString("\"correo\":\"" + CORREO + "\"")).match(resultado);
+    }
+
+    @Test
+    void acceptCborSeqTransmiteCbor() throws Exception {
+        transmitir(get("/api/usuarios/findAll/stream").header(HttpHeaders.ACCEPT, "application/cbor-seq"),
+                "application/cbor-seq");
+    }
+
+    @Test
+    void acceptSmileTransmiteSmile() throws Exception {
+        transmitir(get("/api/usuarios/findAll/stream")
+                        .header(HttpHeaders.ACCEPT, "application/x-jackson-smile, application/x-ndjson;q=0.5"),
+                "application/x-jackson-smile");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"application/json", "text/csv", "application/x-ndjson;q=0"})
+    void acceptSinNdjsonEsNoAceptable(String accept) throws Exception {
+        mockMvc.perform(get("/api/usuarios/findAll/stream")
+                        .header(HttpHeaders.ACCEPT, accept)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void acceptMalFormadoEsNoAceptable() throws Exception {
+        mockMvc.perform(get("/api/usuarios/findAll/stream")
+                        .header(HttpHeaders.ACCEPT, "application")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void listadoSinStreamingConAcceptCborRespondeCbor() throws Exception {
+        mockMvc.perform(get("/api/usuarios/findAll")
+                        .header(HttpHeaders.ACCEPT, "application/cbor")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+    }
+
+    private MvcResult transmitir(MockHttpServletRequestBuilder solicitud, String tipoEsperado) throws Exception {
+        MvcResult inicio = mockMvc.perform(solicitud.header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(tipoEsperado))
+                .andReturn();
+    }
+}
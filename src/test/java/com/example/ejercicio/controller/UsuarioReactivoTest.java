@@ -0,0 +1,206 @@
+package com.example.ejercicio.controller;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.service.UsuarioReactivoService;
+import com.example.ejercicio.util.JwtService;
+import com.example.ejercicio.util.VersionSeguridadService;
+import com.jayway.jsonpath.JsonPath;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import reactor.test.StepVerifier;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lecturas de /api/reactivo/usuarios: el listado NDJSON en orden (creado, id), la búsqueda por ID con sus
+ * respuestas 404 y 400, y que ninguna de ellas pide conexiones al DataSource JDBC que usan JPA y el resto de la API.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UsuarioReactivoTest {
+
+    private static final String PREFIJO = "reactivo-";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioReactivoService usuarioReactivoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private VersionSeguridadService versionSeguridadService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Usuario primero;
+    private Usuario segundo;
+    private String token;
+
+    @BeforeEach
+    void crearUsuarios() {
+        primero = usuarioRepository.findByCorreo(PREFIJO + "primero@prueba.org");
+        segundo = usuarioRepository.findByCorreo(PREFIJO + "segundo@prueba.org");
+        if (primero == null) {
+            LocalDateTime creado = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+            primero = guardar(PREFIJO + "primero@prueba.org", creado);
+            segundo = guardar(PREFIJO + "segundo@prueba.org", creado.plusSeconds(1));
+        }
+        token = "Bearer " + jwtService.generarToken(primero);
+    }
+
+    @Test
+    void listadoTransmiteLosUsuariosComoNdjsonEnOrden() throws Exception {
+        String cuerpo = leer(get("/api/reactivo/usuarios"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Una línea JSON por usuario; los de esta prueba aparecen en orden de creación.
+        List<String> correos = cuerpo.lines()
+                .filter(linea -> !linea.isBlank())
+                .map(linea -> JsonPath.<String>read(linea, "$.correo"))
+                .filter(correo -> correo.startsWith(PREFIJO))
+                .toList();
+        assertEquals(List.of(primero.getCorreo(), segundo.getCorreo()), correos);
+    }
+
+    @Test
+    void busquedaPorIdRetornaElUsuario() throws Exception {
+        leer(get("/api/reactivo/usuarios/" + segundo.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(segundo.getId().toString()))
+                .andExpect(jsonPath("$.correo").value(segundo.getCorreo()))
+                .andExpect(jsonPath("$.nombre").value("Reactivo"));
+    }
+
+    @Test
+    void busquedaPorIdInexistenteRetorna404() throws Exception {
+        leer(get("/api/reactivo/usuarios/" + UUID.randomUUID())).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void busquedaPorIdInvalidoRetorna400() throws Exception {
+        leer(get("/api/reactivo/usuarios/no-es-uuid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("ID inválido"));
+    }
+
+    @Test
+    void elServicioEmiteLosUsuariosSegunLaDemanda() {
+        StepVerifier.create(usuarioReactivoService.findAll()
+                        .filter(usuario -> usuario.getCorreo().startsWith(PREFIJO)), 1)
+                .assertNext(usuario -> assertEquals(primero.getId(), usuario.getId()))
+                .thenRequest(1)
+                .assertNext(usuario -> assertEquals(segundo.getId(), usuario.getId()))
+                .thenRequest(Long.MAX_VALUE)
+                .verifyComplete();
+        StepVerifier.create(usuarioReactivoService.findById(primero.getId().toString()))
+                .assertNext(usuario -> {
+                    assertEquals(primero.getCorreo(), usuario.getCorreo());
+                    assertEquals(primero.getCreado(), usuario.getCreado());
+                })
+                .verifyComplete();
+        StepVerifier.create(usuarioReactivoService.findById(UUID.randomUUID().toString()))
+                .verifyComplete();
+    }
+
+    @Test
+    void lasLecturasReactivasNoPidenConexionesJdbc() throws Exception {
+        ConexionesJdbc.PEDIDAS.set(0);
+
+        leer(get("/api/reactivo/usuarios")).andExpect(status().isOk());
+        leer(get("/api/reactivo/usuarios/" + primero.getId())).andExpect(status().isOk());
+        leer(get("/api/reactivo/usuarios/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        assertEquals(0, ConexionesJdbc.PEDIDAS.get());
+        // El contador sí registra las lecturas bloqueantes: la misma búsqueda por JPA pide una conexión.
+        usuarioRepository.buscarPorIdComoDTO(primero.getId());
+        assertTrue(ConexionesJdbc.PEDIDAS.get() > 0);
+    }
+
+    /**
+     * Ejecuta una lectura autenticada, que Spring MVC completa de forma asíncrona.
+     */
+    private ResultActions leer(MockHttpServletRequestBuilder solicitud) throws Exception {
+        MvcResult inicio = mockMvc.perform(solicitud.header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(inicio));
+    }
+
+    private Usuario guardar(String correo, LocalDateTime creado) {
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nombre("Reactivo")
+                .correo(correo)
+                .password("hash")
+                .activo(true)
+                .creado(creado)
+                .ultimoLogin(creado)
+                .telefonos(new ArrayList<>())
+                .build());
+        versionSeguridadService.registrar(usuario.getId(), usuario.getGeneracionToken());
+        return usuario;
+    }
+
+    /**
+     * Envuelve el DataSource JDBC de la aplicación para contar las conexiones que se le piden.
+     */
+    @TestConfiguration
+    static class ConexionesJdbc {
+
+        static final AtomicInteger PEDIDAS = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor contarConexiones() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(nombre)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .afterMethod(ejecucion -> {
+                                    if ("getConnection".equals(ejecucion.getMethod().getName())) {
+                                        PEDIDAS.incrementAndGet();
+                                    }
+                                })
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
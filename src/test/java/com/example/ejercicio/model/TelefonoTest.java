@@ -0,0 +1,48 @@
+package com.example.ejercicio.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Clave normalizada de los teléfonos, usada por la búsqueda de propietarios en lote.
+ */
+class TelefonoTest {
+
+    @Test
+    void partesDistintasConLosMismosDigitosNoColisionan() {
+        assertNotEquals(Telefono.normalizar("1", "23", "456"), Telefono.normalizar("12", "3", "456"));
+        assertNotEquals(Telefono.normalizar("1", "2", "3456"), Telefono.normalizar("1", "23", "456"));
+    }
+
+    @Test
+    void clavePorPartesDescartaSignosYEspacios() {
+        assertEquals("57-1-1234567", Telefono.normalizar("+57", "(1)", "123 45-67"));
+    }
+
+    @Test
+    void partesVaciasONulasNoTienenClaveComoElTextoIncompleto() {
+        // El texto "+57 1234567" no tiene código de ciudad y no tiene clave; las partes equivalentes tampoco.
+        assertNull(Telefono.normalizar("57", null, "1234567"));
+        assertNull(Telefono.normalizar("57", "", "1234567"));
+        assertNull(Telefono.normalizar("", "1", "1234567"));
+        assertNull(Telefono.normalizar("57", "()", "1234567"));
+        assertNull(Telefono.normalizar("57", "1", null));
+        assertEquals(Telefono.normalizar("+57 1234567"), Telefono.normalizar("57", "", "1234567"));
+    }
+
+    @Test
+    void claveDeTextoCoincideConLaDeLasPartes() {
+        assertEquals(Telefono.normalizar("57", "1", "1234567"), Telefono.normalizar("+57 (1) 123-4567"));
+        assertEquals(Telefono.normalizar("57", "1", "1234567"), Telefono.normalizar("57-1-1234567"));
+    }
+
+    @Test
+    void textoSinLasTresPartesNoTieneClave() {
+        assertNull(Telefono.normalizar("571234567"));
+        assertNull(Telefono.normalizar("+57 1234567"));
+        assertNull(Telefono.normalizar((String) null));
+    }
+}
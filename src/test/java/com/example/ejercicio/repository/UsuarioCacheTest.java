@@ -0,0 +1,75 @@
+package com.example.ejercicio.repository;
+
+import com.example.ejercicio.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que las lecturas repetidas de un usuario se resuelven desde la caché de segundo nivel, sin SQL.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioCacheTest {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void iniciar() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findByIdRepetidoNoEjecutaSql() {
+        Usuario usuario = usuarioRepository.save(nuevoUsuario("cache-id@prueba.org"));
+        usuarioRepository.findById(usuario.getId());
+
+        estadisticas.clear();
+        assertTrue(usuarioRepository.findById(usuario.getId()).isPresent());
+
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void busquedaPorCorreoRepetidaNoEjecutaSql() {
+        Usuario usuario = usuarioRepository.save(nuevoUsuario("cache-correo@prueba.org"));
+        usuarioRepository.buscarPorCorreo(usuario.getCorreo());
+
+        estadisticas.clear();
+        assertEquals(usuario.getId(), usuarioRepository.buscarPorCorreo(usuario.getCorreo()).getId());
+
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getNaturalIdCacheHitCount());
+    }
+
+    private static Usuario nuevoUsuario(String correo) {
+        LocalDateTime ahora = LocalDateTime.now();
+        return Usuario.builder()
+                .nombre("Prueba")
+                .correo(correo)
+                .password("hash")
+                .activo(true)
+                .creado(ahora)
+                .ultimoLogin(ahora)
+                .telefonos(new ArrayList<>())
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.util.EjecutorHashingService;
+import com.example.ejercicio.util.LectorMergePatchService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Alta, inicio de sesión, actualización y patch ejecutan solo BCrypt en el grupo de hashing:
+ * ninguna sentencia SQL sale de un hilo de ese grupo. El inicio de sesión se prueba a través del endpoint,
+ * que devuelve el hilo de la solicitud mientras BCrypt verifica la contraseña.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.ejercicio.service.HilosHashingTest$RegistroHilos")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HilosHashingTest {
+
+    private static final String PASSWORD = "Clave#2024";
+
+    @MockitoSpyBean
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @MockitoSpyBean
+    private EjecutorHashingService ejecutorHashing;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private LectorMergePatchService lectorMergePatch;
+
+    private final Queue<String> hilosBcrypt = new ConcurrentLinkedQueue<>();
+
+    @BeforeEach
+    void registrarHilos() {
+        doAnswer(invocacion -> {
+            hilosBcrypt.add(Thread.currentThread().getName());
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).encode(any());
+        doAnswer(invocacion -> {
+            hilosBcrypt.add(Thread.currentThread().getName());
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).matches(any(), anyString());
+        RegistroHilos.HILOS.clear();
+    }
+
+    @Test
+    void soloBcryptCorreEnElGrupoDeHashing() throws Exception {
+        CreateResponseDTO creado = usuarioService.crearUsuario(usuario("hilos@prueba.org"));
+        MvcResult inicio = mockMvc.perform(login("hilos@prueba.org"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio)).andExpect(status().isOk());
+        usuarioService.updateUsuario(creado.getId().toString(), usuario("hilos-actualizado@prueba.org"));
+        usuarioService.patchUsuario(creado.getId().toString(), lectorMergePatch.leer(new ByteArrayInputStream(
+                "{\"password\": \"Otra#2025\"}".getBytes(StandardCharsets.UTF_8))));
+
+        // Codificación del alta, verificación del login, codificación de la actualización y del patch.
+        assertTrue(hilosBcrypt.size() >= 4);
+        hilosBcrypt.forEach(hilo -> assertTrue(hilo.startsWith("bcrypt-"), "BCrypt fuera del grupo: " + hilo));
+        assertTrue(RegistroHilos.HILOS.stream().noneMatch(hilo -> hilo.startsWith("bcrypt-")),
+                "SQL en el grupo de hashing: " + RegistroHilos.HILOS);
+        assertTrue(RegistroHilos.HILOS.contains(Thread.currentThread().getName()));
+    }
+
+    @Test
+    void loginLiberaElHiloDeLaSolicitudMientrasVerificaLaContrasena() throws Exception {
+        usuarioService.crearUsuario(usuario("hilos-liberado@prueba.org"));
+        hilosBcrypt.clear();
+        // La verificación queda detenida hasta que la prueba la libere.
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            hilosBcrypt.add(Thread.currentThread().getName());
+            liberar.await();
+            return invocacion.callRealMethod();
+        }).when(passwordEncoder).matches(any(), anyString());
+
+        try {
+            // La solicitud vuelve aunque BCrypt no haya terminado: el hilo del servlet no espera la verificación.
+            MvcResult inicio = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> mockMvc.perform(
+                            login("hilos-liberado@prueba.org"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn());
+            liberar.countDown();
+            mockMvc.perform(asyncDispatch(inicio)).andExpect(status().isOk());
+        } finally {
+            liberar.countDown();
+        }
+
+        assertEquals(1, hilosBcrypt.size());
+        assertTrue(hilosBcrypt.peek().startsWith("bcrypt-"), "BCrypt fuera del grupo: " + hilosBcrypt);
+    }
+
+    @Test
+    void loginConElGrupoSaturadoResponde503SinVerificar() throws Exception {
+        usuarioService.crearUsuario(usuario("hilos-saturado@prueba.org"));
+        doThrow(new RejectedExecutionException("Grupo de hashing saturado")).when(ejecutorHashing).ejecutar(any());
+
+        // El rechazo se resuelve en el hilo de la solicitud y se entrega como un futuro ya completado.
+        MvcResult inicio = mockMvc.perform(login("hilos-saturado@prueba.org"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verify(passwordEncoder, never()).matches(any(), anyString());
+    }
+
+    private static MockHttpServletRequestBuilder login(String correo) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"correo\": \"" + correo + "\", \"password\": \"" + PASSWORD + "\"}");
+    }
+
+    private static UsuarioDTO usuario(String correo) {
+        return UsuarioDTO.builder()
+                .nombre("Hilos")
+                .correo(correo)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * Anota el hilo de cada sentencia que prepara Hibernate.
+     */
+    public static class RegistroHilos implements StatementInspector {
+
+        static final List<String> HILOS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            HILOS.add(Thread.currentThread().getName());
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.ResumenImportacionDTO;
+import com.example.ejercicio.util.EjecutorHashingService;
+import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import com.example.ejercicio.util.ValidadorUsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Importación en lote: los registros inválidos o que fallan al codificarse se rechazan uno a uno
+ * sin afectar al resto del bloque.
+ */
+// Más hilos de hashing que la parte de la importación, para que el límite se note.
+@SpringBootTest(properties = {"hashing.hilos=4", "usuarios.importacion.hashing-maximo=" + ImportacionServiceTest.HASHING_MAXIMO})
+@ActiveProfiles("test")
+class ImportacionServiceTest {
+
+    static final int HASHING_MAXIMO = 2;
+
+    // Contraseña válida que el codificador de prueba no puede codificar.
+    private static final String PASSWORD_QUE_FALLA = "Falla#2024";
+
+    @Autowired
+    private ImportacionService importacionService;
+
+    @MockitoSpyBean
+    private PasswordEncoderServiceImpl passwordEncoder;
+
+    @MockitoSpyBean
+    private EjecutorHashingService ejecutorHashing;
+
+    @Test
+    void fallaAlCodificarUnRegistroRechazaSoloEseRegistro() throws Exception {
+        doThrow(new IllegalStateException("codificador no disponible"))
+                .when(passwordEncoder).encodePassword(PASSWORD_QUE_FALLA);
+        String ndjson = """
+                {"nombre": "Uno", "correo": "importa-uno@prueba.org", "password": "Clave#2024"}
+                {"nombre": "Dos", "correo": "importa-dos@prueba.org", "password": "Falla#2024"}
+                {"nombre": "Tres", "correo": "importa-tres@prueba.org", "password": "Clave#2024"}
+                """;
+
+        ResumenImportacionDTO resumen = importar(ndjson);
+
+        assertEquals(3, resumen.getTotal());
+        assertEquals(2, resumen.getCreados());
+        assertTrue(resumen.getResultados().get(0).isCreado());
+        assertFalse(resumen.getResultados().get(1).isCreado());
+        assertEquals("Error al codificar la contraseña: codificador no disponible",
+                resumen.getResultados().get(1).getMensaje());
+        assertTrue(resumen.getResultados().get(2).isCreado());
+    }
+
+    @Test
+    void telefonoNuloEsUnErrorDeValidacionDelRegistro() throws Exception {
+        String ndjson = """
+                {"nombre": "Uno", "correo": "telefono-uno@prueba.org", "password": "Clave#2024"}
+                {"nombre": "Dos", "correo": "telefono-dos@prueba.org", "password": "Clave#2024", "telefonos": [null]}
+                """;
+
+        ResumenImportacionDTO resumen = importar(ndjson);
+
+        assertEquals(1, resumen.getCreados());
+        assertFalse(resumen.getResultados().get(1).isCreado());
+        assertEquals(ValidadorUsuarioService.TELEFONO_INVALIDO, resumen.getResultados().get(1).getMensaje());
+    }
+
+    @Test
+    void registroQueNoEsUnUsuarioSeRechazaSinDetenerLaImportacion() throws Exception {
+        String arreglo = """
+                [{"nombre": "Uno", "correo": "forma-uno@prueba.org", "password": "Clave#2024"},
+                 42,
+                 {"nombre": "Tres", "correo": "forma-tres@prueba.org", "password": "Clave#2024", "telefonos": "57-1-1234567"},
+                 {"nombre": "Cuatro", "correo": "forma-cuatro@prueba.org", "password": "Clave#2024"}]
+                """;
+
+        ResumenImportacionDTO resumen = importar(arreglo);
+
+        assertEquals(4, resumen.getTotal());
+        assertEquals(2, resumen.getCreados());
+        assertTrue(resumen.getResultados().get(0).isCreado());
+        assertEquals(1, resumen.getResultados().get(1).getIndice());
+        assertTrue(resumen.getResultados().get(1).getMensaje().startsWith("Registro 1 mal formado"));
+        assertTrue(resumen.getResultados().get(2).getMensaje().startsWith("Registro 2 mal formado"));
+        assertTrue(resumen.getResultados().get(3).isCreado());
+        assertEquals(3, resumen.getResultados().get(3).getIndice());
+    }
+
+    @Test
+    void jsonInvalidoDetieneLaImportacionYConservaLosRegistrosLeidos() throws Exception {
+        String ndjson = """
+                {"nombre": "Uno", "correo": "corte-uno@prueba.org", "password": "Clave#2024"}
+                {"nombre": "Dos", "correo": "corte-dos@prueba.org", "password":
+                {"nombre": "Tres", "correo": "corte-tres@prueba.org", "password": "Clave#2024"}
+                """;
+
+        ResumenImportacionDTO resumen = importar(ndjson);
+
+        assertEquals(2, resumen.getTotal());
+        assertTrue(resumen.getResultados().get(0).isCreado());
+        assertFalse(resumen.getResultados().get(1).isCreado());
+        assertTrue(resumen.getResultados().get(1).getMensaje().contains("la importación se detuvo"));
+    }
+
+    @Test
+    void importacionOcupaComoMaximoSuParteDelGrupoDeHashing() throws Exception {
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        doAnswer(invocacion -> {
+            maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+            try {
+                // Mantiene ocupada la codificación para que se acumulen las pendientes.
+                Thread.sleep(20);
+                return invocacion.callRealMethod();
+            } finally {
+                enCurso.decrementAndGet();
+            }
+        }).when(passwordEncoder).encodePassword(anyString());
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            ndjson.append("{\"nombre\": \"Parte\", \"correo\": \"parte-").append(i)
+                    .append("@prueba.org\", \"password\": \"Clave#2024\"}\n");
+        }
+
+        ResumenImportacionDTO resumen = importar(ndjson.toString());
+
+        assertEquals(12, resumen.getCreados());
+        assertTrue(maximo.get() <= HASHING_MAXIMO, "Codificaciones simultáneas: " + maximo.get());
+    }
+
+    @Test
+    void grupoDeHashingSaturadoRechazaElRegistroSinCodificarEnElHiloDeLaImportacion() throws Exception {
+        doThrow(new RejectedExecutionException("grupo lleno")).when(ejecutorHashing).ejecutar(any());
+        String ndjson = """
+                {"nombre": "Uno", "correo": "saturado-uno@prueba.org", "password": "Clave#2024"}
+                """;
+
+        ResumenImportacionDTO resumen = importar(ndjson);
+
+        assertEquals(0, resumen.getCreados());
+        assertEquals("Servicio saturado, intente nuevamente", resumen.getResultados().get(0).getMensaje());
+        // Agotados los reintentos, el registro se rechaza sin ejecutar BCrypt fuera del grupo.
+        verify(passwordEncoder, never()).encodePassword(anyString());
+    }
+
+    @Test
+    void bloqueQueNoSeConfirmaLiberaSusCorreosParaLosBloquesSiguientes() throws Exception {
+        // Un registro por bloque; el nombre excede la columna y hace fallar la confirmación del primero.
+        Object servicio = AopTestUtils.getUltimateTargetObject(importacionService);
+        int tamanoLote = (int) ReflectionTestUtils.getField(servicio, "tamanoLote");
+        ReflectionTestUtils.setField(servicio, "tamanoLote", 1);
+        String ndjson = """
+                {"nombre": "%s", "correo": "reintento@prueba.org", "password": "Clave#2024"}
+                {"nombre": "Reintento", "correo": "reintento@prueba.org", "password": "Clave#2024"}
+                """.formatted("N".repeat(300));
+
+        ResumenImportacionDTO resumen;
+        try {
+            resumen = importar(ndjson);
+        } finally {
+            ReflectionTestUtils.setField(servicio, "tamanoLote", tamanoLote);
+        }
+
+        assertEquals(1, resumen.getCreados());
+        assertFalse(resumen.getResultados().get(0).isCreado());
+        assertTrue(resumen.getResultados().get(0).getMensaje().startsWith("Error al guardar el bloque"));
+        assertTrue(resumen.getResultados().get(1).isCreado());
+    }
+
+    private ResumenImportacionDTO importar(String cuerpo) throws IOException {
+        return importacionService.importar(new ByteArrayInputStream(cuerpo.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.TelefonoDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.dto.UsuarioPatchDTO;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.util.LectorMergePatchService;
+import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Merge patch de usuarios: elementos de teléfonos inválidos, fecha de modificación y sentencias que emite un patch
+ * de un solo campo.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.ejercicio.service.PatchUsuarioTest$RegistroSentencias")
+@ActiveProfiles("test")
+class PatchUsuarioTest {
+
+    @Autowired
+    private LectorMergePatchService lectorMergePatch;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoSpyBean
+    private PasswordEncoderServiceImpl passwordEncoder;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"telefonos\": [null]}", "{\"telefonos\": [{\"numero\": \"1\"}, null]}", "{\"telefonos\": [\"1\"]}"})
+    void elementoDeTelefonosQueNoEsObjetoEsRechazado(String documento) {
+        assertThrows(IllegalArgumentException.class, () -> leer(documento));
+    }
+
+    @Test
+    void patchSoloDeTelefonosActualizaModificado() throws IOException {
+        CreateResponseDTO creado = usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Patch")
+                .correo("patch-telefonos@prueba.org")
+                .password("Clave#2024")
+                .telefonos(new ArrayList<>(List.of(new TelefonoDTO("1234567", "1", "57"))))
+                .build());
+        assertNull(usuarioRepository.findById(creado.getId()).orElseThrow().getModificado());
+
+        usuarioService.patchUsuario(creado.getId().toString(),
+                leer("{\"telefonos\": [{\"numero\": \"7654321\", \"codigoCiudad\": \"1\", \"codigoPais\": \"57\"}]}"));
+
+        assertNotNull(usuarioRepository.findById(creado.getId()).orElseThrow().getModificado());
+    }
+
+    @Test
+    void patchSoloDeNombreEscribeSoloLasColumnasModificadas() throws IOException {
+        CreateResponseDTO creado = usuarioService.crearUsuario(UsuarioDTO.builder()
+                .nombre("Patch")
+                .correo("patch-nombre@prueba.org")
+                .password("Clave#2024")
+                .telefonos(new ArrayList<>(List.of(new TelefonoDTO("1234567", "1", "57"))))
+                .build());
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // Sin la caché de segundo nivel, para contar también la lectura del usuario.
+        sessionFactory.getCache().evictAllRegions();
+        Statistics estadisticas = sessionFactory.getStatistics();
+        estadisticas.clear();
+        RegistroSentencias.SENTENCIAS.clear();
+        clearInvocations(passwordEncoder);
+
+        usuarioService.patchUsuario(creado.getId().toString(), leer("{\"nombre\": \"Patch renombrado\"}"));
+
+        // Sin contraseña en el patch no hay BCrypt.
+        verify(passwordEncoder, never()).encodePassword(anyString());
+        // Lectura del usuario y un único UPDATE; los teléfonos no se leen ni se escriben.
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getEntityUpdateCount());
+        List<String> sentencias = RegistroSentencias.SENTENCIAS.stream().map(sql -> sql.toLowerCase(Locale.ROOT)).toList();
+        assertTrue(sentencias.stream().noneMatch(sql -> sql.contains("telefono")), "SQL de teléfonos: " + sentencias);
+        List<String> actualizaciones = sentencias.stream().filter(sql -> sql.startsWith("update")).toList();
+        assertEquals(1, actualizaciones.size(), "UPDATE emitidos: " + actualizaciones);
+        // Con @DynamicUpdate el SET incluye solo el nombre, la fecha de modificación y la versión.
+        assertEquals(Set.of("nombre", "modificado", "version"), columnasActualizadas(actualizaciones.get(0)));
+    }
+
+    /**
+     * Extrae los nombres de columna de la cláusula SET de un UPDATE.
+     */
+    private static Set<String> columnasActualizadas(String update) {
+        String asignaciones = update.substring(update.indexOf(" set ") + 5, update.indexOf(" where "));
+        return Arrays.stream(asignaciones.split(","))
+                .map(asignacion -> asignacion.substring(0, asignacion.indexOf('=')).trim())
+                .collect(Collectors.toSet());
+    }
+
+    private UsuarioPatchDTO leer(String documento) throws IOException {
+        return lectorMergePatch.leer(new ByteArrayInputStream(documento.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Anota cada sentencia que prepara Hibernate.
+     */
+    public static class RegistroSentencias implements StatementInspector {
+
+        static final List<String> SENTENCIAS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+}
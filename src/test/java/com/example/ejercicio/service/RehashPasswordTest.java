@@ -0,0 +1,133 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.AuthRequestDTO;
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import com.example.ejercicio.util.PasswordEncoderServiceImpl;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Con la fuerza calibrada en 5, los hashes de fuerza 4 se vuelven a codificar tras un inicio de sesión,
+ * con un reemplazo condicionado al hash leído que no pisa un cambio de contraseña concurrente.
+ */
+@SpringBootTest(properties = {"bcrypt.fuerza-minima=5", "bcrypt.fuerza-maxima=5"})
+@ActiveProfiles("test")
+class RehashPasswordTest {
+
+    private static final String PASSWORD = "Clave#2024";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoderServiceImpl passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void laFuerzaCalibradaQuedaDentroDelRangoConfigurado() {
+        String hash = passwordEncoder.encodePassword(PASSWORD);
+
+        assertTrue(hash.startsWith("$2a$05$"), hash);
+        assertFalse(passwordEncoder.requiereRehash(hash));
+        assertTrue(passwordEncoder.requiereRehash(new BCryptPasswordEncoder(4).encode(PASSWORD)));
+    }
+
+    @Test
+    void loginVuelveACodificarUnHashDeFuerzaAnterior() throws Exception {
+        CreateResponseDTO creado = usuarioService.crearUsuario(usuario("rehash@prueba.org"));
+        String hashAnterior = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        guardarHash(creado.getId(), hashAnterior);
+
+        usuarioService.loginAsincrono(new AuthRequestDTO("rehash@prueba.org", PASSWORD)).join();
+
+        // El nuevo hash se escribe en segundo plano, después de responder el inicio de sesión.
+        String hash = esperarCambio(creado.getId(), hashAnterior);
+        assertTrue(hash.startsWith("$2a$05$"), hash);
+        assertTrue(passwordEncoder.verificarPassword(PASSWORD, hash));
+    }
+
+    @Test
+    void elReemplazoNoPisaUnHashCambiadoEntretanto() {
+        CreateResponseDTO creado = usuarioService.crearUsuario(usuario("rehash-concurrente@prueba.org"));
+        String leido = leerHash(creado.getId());
+        // Otra solicitud cambia la contraseña entre la lectura del login y la escritura del rehash.
+        String concurrente = passwordEncoder.encodePassword("Otra#2025");
+        guardarHash(creado.getId(), concurrente);
+
+        assertFalse(usuarioRepository.actualizarPassword(
+                creado.getId(), creado.getCorreo(), leido, passwordEncoder.encodePassword(PASSWORD)));
+        assertEquals(concurrente, leerHash(creado.getId()));
+    }
+
+    @Test
+    void elReemplazoInvalidaSoloLasEntradasDelUsuario() {
+        CreateResponseDTO actualizado = usuarioService.crearUsuario(usuario("rehash-invalidado@prueba.org"));
+        CreateResponseDTO otro = usuarioService.crearUsuario(usuario("rehash-intacto@prueba.org"));
+        usuarioRepository.findById(actualizado.getId());
+        usuarioRepository.findById(otro.getId());
+        String nuevo = passwordEncoder.encodePassword(PASSWORD);
+
+        assertTrue(usuarioRepository.actualizarPassword(
+                actualizado.getId(), actualizado.getCorreo(), leerHash(actualizado.getId()), nuevo));
+
+        Cache cache = entityManagerFactory.getCache();
+        assertFalse(cache.contains(Usuario.class, actualizado.getId()));
+        assertTrue(cache.contains(Usuario.class, otro.getId()));
+        assertEquals(nuevo, usuarioRepository.findById(actualizado.getId()).orElseThrow().getPassword());
+    }
+
+    private void guardarHash(UUID id, String hash) {
+        jdbcTemplate.update("update usuario set password = ? where id = ?", hash, id);
+        entityManagerFactory.getCache().evict(Usuario.class, id);
+    }
+
+    private String leerHash(UUID id) {
+        return jdbcTemplate.queryForObject("select password from usuario where id = ?", String.class, id);
+    }
+
+    private String esperarCambio(UUID id, String hashAnterior) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String hash = leerHash(id);
+        while (hash.equals(hashAnterior) && System.nanoTime() < limite) {
+            Thread.sleep(20);
+            hash = leerHash(id);
+        }
+        assertNotEquals(hashAnterior, hash, "El hash no se actualizó");
+        return hash;
+    }
+
+    private static UsuarioDTO usuario(String correo) {
+        return UsuarioDTO.builder()
+                .nombre("Rehash")
+                .correo(correo)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>())
+                .build();
+    }
+}
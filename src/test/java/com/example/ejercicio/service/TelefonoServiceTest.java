@@ -0,0 +1,30 @@
+package com.example.ejercicio.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Búsqueda de propietarios en lote: cada teléfono recibido es una clave de la respuesta.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TelefonoServiceTest {
+
+    @Autowired
+    private TelefonoService telefonoService;
+
+    @Test
+    void telefonoNuloOVacioEnElLoteEsRechazado() {
+        assertThrows(IllegalArgumentException.class,
+                () -> telefonoService.buscarPropietariosEnLote(Arrays.asList("+57 (1) 123-4567", null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> telefonoService.buscarPropietariosEnLote(List.of("+57 (1) 123-4567", "  ")));
+    }
+}
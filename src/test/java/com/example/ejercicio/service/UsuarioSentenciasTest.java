@@ -0,0 +1,192 @@
+package com.example.ejercicio.service;
+
+import com.example.ejercicio.dto.AuthRequestDTO;
+import com.example.ejercicio.dto.CreateResponseDTO;
+import com.example.ejercicio.dto.TelefonoDTO;
+import com.example.ejercicio.dto.UsuarioDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cuenta las sentencias SQL que emite cada operación de escritura, usando las estadísticas de Hibernate.
+ * Con el envío en lote, una sentencia preparada equivale a un viaje a la base de datos aunque inserte varias filas.
+ * El inicio de sesión también escribe por JDBC, por lo que sus sentencias se cuentan en el DataSource.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UsuarioSentenciasTest {
+
+    private static final String PASSWORD = "Clave#2024";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void iniciar() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void crearUsuarioConTelefonosEsUnaTransaccionConInsercionesEnLote() {
+        estadisticas.clear();
+        usuarioService.crearUsuario(nuevoUsuario("sentencias-alta@prueba.org", "1", "2", "3"));
+
+        assertEquals(1, estadisticas.getTransactionCount());
+        assertEquals(4, estadisticas.getEntityInsertCount());
+        // Una inserción del usuario y un solo lote con los tres teléfonos.
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void crearUsuarioConCorreoDescartadoPorElFiltroNoConsultaSiExiste() {
+        double omitidas = meterRegistry.counter("usuarios.filtro.correos.consultas.omitidas").count();
+
+        estadisticas.clear();
+        usuarioService.crearUsuario(nuevoUsuario("sentencias-filtro@prueba.org"));
+
+        // El filtro responde que el correo no existe: no se ejecuta existsByCorreo, solo la inserción.
+        assertEquals(0, estadisticas.getQueryExecutionCount());
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+        assertEquals(omitidas + 1, meterRegistry.counter("usuarios.filtro.correos.consultas.omitidas").count());
+    }
+
+    @Test
+    void actualizarUsuarioEscribeSoloLosTelefonosQueCambian() {
+        CreateResponseDTO creado = usuarioService.crearUsuario(nuevoUsuario("sentencias-cambio@prueba.org", "1", "2", "3"));
+
+        estadisticas.clear();
+        usuarioService.updateUsuario(creado.getId().toString(), nuevoUsuario("sentencias-cambiado@prueba.org", "1", "2", "4"));
+
+        assertEquals(1, estadisticas.getTransactionCount());
+        assertEquals(1, estadisticas.getEntityInsertCount());
+        assertEquals(1, estadisticas.getEntityDeleteCount());
+        assertEquals(1, estadisticas.getEntityUpdateCount());
+        // El usuario recién creado sale de la caché de segundo nivel: lectura de sus teléfonos,
+        // actualización del usuario, una inserción y una eliminación.
+        assertEquals(4, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void actualizarUsuarioConLosMismosTelefonosNoLosEscribe() {
+        CreateResponseDTO creado = usuarioService.crearUsuario(nuevoUsuario("sentencias-igual@prueba.org", "1", "2", "3"));
+
+        estadisticas.clear();
+        usuarioService.updateUsuario(creado.getId().toString(), nuevoUsuario("sentencias-igualado@prueba.org", "1", "2", "3"));
+
+        // Solo cambia el usuario: ningún INSERT ni DELETE de teléfonos.
+        assertEquals(0, estadisticas.getEntityInsertCount());
+        assertEquals(0, estadisticas.getEntityDeleteCount());
+        assertEquals(0, estadisticas.getCollectionRecreateCount());
+        assertEquals(0, estadisticas.getCollectionRemoveCount());
+        assertEquals(1, estadisticas.getEntityUpdateCount());
+        // Lectura de sus teléfonos y actualización del usuario.
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginLeeElUsuarioUnaVezYActualizaSoloUltimoLogin() {
+        CreateResponseDTO creado = usuarioService.crearUsuario(nuevoUsuario("sentencias-login@prueba.org"));
+        // Sin la caché de segundo nivel, para contar también la lectura del usuario.
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+
+        RegistroJdbc.SENTENCIAS.clear();
+        usuarioService.loginAsincrono(new AuthRequestDTO("sentencias-login@prueba.org", PASSWORD)).join();
+
+        // Se cuentan todas las sentencias enviadas por el DataSource, las de Hibernate y las de JDBC.
+        List<String> sentencias = RegistroJdbc.SENTENCIAS.stream()
+                .map(sql -> sql.strip().toLowerCase(Locale.ROOT))
+                .toList();
+        assertEquals(2, sentencias.size(), "Sentencias del login: " + sentencias);
+        assertEquals(1, sentencias.stream().filter(sql -> sql.startsWith("select")).count(), "SELECT: " + sentencias);
+        List<String> actualizaciones = sentencias.stream().filter(sql -> sql.startsWith("update")).toList();
+        assertEquals(1, actualizaciones.size(), "UPDATE: " + actualizaciones);
+        assertEquals(Set.of("ultimo_login"), columnasActualizadas(actualizaciones.get(0)));
+
+        LocalDateTime ultimoLogin = jdbcTemplate.queryForObject(
+                "select ultimo_login from usuario where id = ?", LocalDateTime.class, creado.getId());
+        assertTrue(ultimoLogin.isAfter(creado.getUltimoLogin()));
+    }
+
+    /**
+     * Extrae los nombres de columna de la cláusula SET de un UPDATE.
+     */
+    private static Set<String> columnasActualizadas(String update) {
+        String asignaciones = update.substring(update.indexOf(" set ") + 5, update.indexOf(" where "));
+        return Arrays.stream(asignaciones.split(","))
+                .map(asignacion -> asignacion.substring(0, asignacion.indexOf('=')).trim())
+                .collect(Collectors.toSet());
+    }
+
+    private static UsuarioDTO nuevoUsuario(String correo, String... numeros) {
+        List<TelefonoDTO> telefonos = Arrays.stream(numeros)
+                .map(numero -> new TelefonoDTO(numero, "2", "56"))
+                .toList();
+        return UsuarioDTO.builder()
+                .nombre("Sentencias")
+                .correo(correo)
+                .password(PASSWORD)
+                .telefonos(new ArrayList<>(telefonos))
+                .build();
+    }
+
+    /**
+     * Envuelve el DataSource de la aplicación para anotar cada sentencia ejecutada, tanto las de Hibernate
+     * como las que se envían directamente por JDBC.
+     */
+    @TestConfiguration
+    static class RegistroJdbc {
+
+        static final List<String> SENTENCIAS = Collections.synchronizedList(new ArrayList<>());
+
+        @Bean
+        static BeanPostProcessor registrarSentencias() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (bean instanceof DataSource dataSource && "dataSource".equals(nombre)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .afterQuery((ejecucion, consultas) -> consultas.forEach(consulta -> SENTENCIAS.add(consulta.getQuery())))
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
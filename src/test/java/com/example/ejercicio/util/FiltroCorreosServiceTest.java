@@ -0,0 +1,94 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Filtro de Bloom de correos: construcción al iniciar, reconstrucción tras muchos borrados,
+ * normalización a minúsculas y respuestas negativas definitivas.
+ */
+class FiltroCorreosServiceTest {
+
+    // Capacidad pequeña para que pocas eliminaciones superen la cuarta parte.
+    private static final long CAPACIDAD = 8;
+
+    private UsuarioRepository usuarioRepository;
+    private MeterRegistry meterRegistry;
+    private FiltroCorreosService filtro;
+
+    @BeforeEach
+    void crearFiltro() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        when(usuarioRepository.count()).thenReturn(1L);
+        when(usuarioRepository.streamCorreos()).thenAnswer(invocacion -> Stream.of("Ana.Perez@Prueba.ORG"));
+        meterRegistry = new SimpleMeterRegistry();
+        filtro = new FiltroCorreosService(usuarioRepository, mock(PlatformTransactionManager.class), meterRegistry,
+                0.01, CAPACIDAD);
+    }
+
+    @Test
+    void seConstruyeConApplicationReadyEvent() {
+        try (AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext()) {
+            contexto.registerBean(FiltroCorreosService.class, () -> filtro);
+            contexto.refresh();
+            // Sin filtro todo correo podría existir y se consulta la base de datos.
+            assertTrue(filtro.podriaExistir("nadie@prueba.org"));
+
+            contexto.publishEvent(new ApplicationReadyEvent(new SpringApplication(), new String[0], contexto, Duration.ZERO));
+
+            verify(usuarioRepository, times(1)).streamCorreos();
+            assertFalse(filtro.podriaExistir("nadie@prueba.org"));
+        }
+    }
+
+    @Test
+    void seReconstruyeCuandoLasEliminacionesSuperanUnCuartoDeLaCapacidad() {
+        filtro.construirAlIniciar();
+
+        for (int i = 0; i < CAPACIDAD / 4; i++) {
+            filtro.registrarEliminacion();
+        }
+        verify(usuarioRepository, times(1)).streamCorreos();
+
+        filtro.registrarEliminacion();
+        verify(usuarioRepository, timeout(5000).times(2)).streamCorreos();
+    }
+
+    @Test
+    void normalizaLosCorreosAMinusculasYSinEspacios() {
+        filtro.construirAlIniciar();
+        filtro.agregar("Nuevo@Prueba.Org");
+
+        assertTrue(filtro.podriaExistir("ana.perez@prueba.org"));
+        assertTrue(filtro.podriaExistir("  ANA.PEREZ@PRUEBA.ORG "));
+        assertTrue(filtro.podriaExistir("nuevo@prueba.org"));
+        assertEquals("nuevo@prueba.org", FiltroCorreosService.normalizar(" NUEVO@Prueba.org\t"));
+    }
+
+    @Test
+    void correoAusenteEsDescartadoYCuentaLaConsultaOmitida() {
+        filtro.construirAlIniciar();
+
+        assertFalse(filtro.podriaExistir("ausente@prueba.org"));
+        assertEquals(1, meterRegistry.counter("usuarios.filtro.correos.consultas.omitidas").count());
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.model.Usuario;
+import com.example.ejercicio.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Con la escritura diferida habilitada, la tarea programada escribe los inicios de sesión pendientes
+ * sin que nadie la invoque.
+ */
+@SpringBootTest(properties = {
+        "usuarios.ultimo-login.escritura-diferida=true",
+        "usuarios.ultimo-login.intervalo-ms=100"})
+@ActiveProfiles("test")
+class UltimoLoginProgramadoTest {
+
+    @Autowired
+    private UltimoLoginService ultimoLoginService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void laTareaProgramadaEscribeLosPendientes() throws Exception {
+        LocalDateTime creado = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Usuario usuario = usuarioRepository.save(Usuario.builder()
+                .nombre("Programado")
+                .correo("ultimo-login-programado@prueba.org")
+                .password("hash")
+                .activo(true)
+                .creado(creado)
+                .ultimoLogin(creado)
+                .telefonos(new ArrayList<>())
+                .build());
+        LocalDateTime instante = creado.plusMinutes(1);
+
+        ultimoLoginService.registrar(usuario.getId(), instante);
+
+        assertEquals(instante, esperarUltimoLogin(usuario.getId(), instante));
+        assertEquals(instante, usuarioRepository.findById(usuario.getId()).orElseThrow().getUltimoLogin());
+    }
+
+    private LocalDateTime esperarUltimoLogin(UUID id, LocalDateTime esperado) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        LocalDateTime actual = leerUltimoLogin(id);
+        while (!esperado.equals(actual) && System.nanoTime() < limite) {
+            Thread.sleep(20);
+            actual = leerUltimoLogin(id);
+        }
+        return actual;
+    }
+
+    private LocalDateTime leerUltimoLogin(UUID id) {
+        return jdbcTemplate.queryForObject("select ultimo_login from usuario where id = ?", LocalDateTime.class, id);
+    }
+}
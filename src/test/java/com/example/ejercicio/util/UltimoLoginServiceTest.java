@@ -0,0 +1,156 @@
+package com.example.ejercicio.util;
+
+import com.example.ejercicio.model.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Último inicio de sesión: escritura inmediata con invalidación de la caché y escritura diferida que agrupa
+ * los inicios de sesión de cada usuario, respeta el máximo de pendientes y escribe lo pendiente al detenerse.
+ */
+class UltimoLoginServiceTest {
+
+    private static final int MAXIMO_PENDIENTES = 2;
+
+    private JdbcTemplate jdbcTemplate;
+    private Cache cache;
+    private EntityManagerFactory entityManagerFactory;
+    private TaskScheduler planificador;
+    private MeterRegistry meterRegistry;
+
+    // Filas enviadas en los lotes JDBC, en orden.
+    private final List<Object[]> filasEscritas = new ArrayList<>();
+
+    @BeforeEach
+    void crearDependencias() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocacion -> {
+            List<Object[]> lote = invocacion.getArgument(1);
+            filasEscritas.addAll(lote);
+            return new int[lote.size()];
+        });
+        cache = mock(Cache.class);
+        entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        planificador = mock(TaskScheduler.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void escrituraInmediataActualizaLaFilaEInvalidaLaEntradaDeLaCache() {
+        UltimoLoginService servicio = crearServicio(false);
+        UUID id = UUID.randomUUID();
+        LocalDateTime instante = LocalDateTime.now();
+
+        servicio.registrar(id, instante);
+
+        verify(jdbcTemplate).update(anyString(), eq(Timestamp.valueOf(instante)), eq(id));
+        verify(cache).evict(Usuario.class, id);
+        assertEquals(0, pendientes());
+    }
+
+    @Test
+    void variosLoginsDelMismoUsuarioSeEscribenEnUnaFilaConElMasReciente() {
+        UltimoLoginService servicio = crearServicio(true);
+        UUID id = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.now();
+        List<LocalDateTime> instantes = new ArrayList<>(IntStream.range(0, 20).mapToObj(base::plusSeconds).toList());
+        // El orden de llegada no importa: se conserva el instante más reciente.
+        Collections.shuffle(instantes, new Random(42));
+
+        instantes.forEach(instante -> servicio.registrar(id, instante));
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertEquals(1, pendientes());
+
+        servicio.escribirPendientes();
+
+        assertEquals(1, filasEscritas.size());
+        assertEquals(Timestamp.valueOf(base.plusSeconds(19)), filasEscritas.get(0)[0]);
+        assertEquals(id, filasEscritas.get(0)[1]);
+        verify(cache).evict(Usuario.class, id);
+        assertEquals(0, pendientes());
+    }
+
+    @Test
+    void conElMaximoDePendientesUnUsuarioNuevoSeEscribeEnElHiloQueLlama() {
+        UltimoLoginService servicio = crearServicio(true);
+        UUID primero = UUID.randomUUID();
+        UUID segundo = UUID.randomUUID();
+        UUID tercero = UUID.randomUUID();
+        LocalDateTime instante = LocalDateTime.now();
+
+        servicio.registrar(primero, instante);
+        servicio.registrar(segundo, instante);
+        servicio.registrar(tercero, instante);
+        // Un usuario ya pendiente sigue agrupándose en memoria aunque el mapa esté lleno.
+        servicio.registrar(primero, instante.plusSeconds(1));
+
+        // El mapa no pasa del máximo: el tercero se escribe de inmediato.
+        assertEquals(MAXIMO_PENDIENTES, pendientes());
+        verify(jdbcTemplate).update(anyString(), eq(Timestamp.valueOf(instante)), eq(tercero));
+        verify(cache).evict(Usuario.class, tercero);
+
+        // La escritura de los pendientes se adelanta en el planificador, no en el hilo que llama.
+        ArgumentCaptor<Runnable> escritura = ArgumentCaptor.forClass(Runnable.class);
+        verify(planificador).schedule(escritura.capture(), any(Instant.class));
+        assertEquals(0, filasEscritas.size());
+        escritura.getValue().run();
+
+        assertEquals(2, filasEscritas.size());
+        assertEquals(0, pendientes());
+    }
+
+    @Test
+    void alDetenerseEscribeLosPendientes() {
+        UltimoLoginService servicio = crearServicio(true);
+        UUID primero = UUID.randomUUID();
+        UUID segundo = UUID.randomUUID();
+        LocalDateTime instante = LocalDateTime.now();
+        servicio.registrar(primero, instante);
+        servicio.registrar(segundo, instante);
+
+        servicio.detener();
+
+        assertEquals(2, filasEscritas.size());
+        verify(cache).evict(Usuario.class, primero);
+        verify(cache).evict(Usuario.class, segundo);
+        assertEquals(0, pendientes());
+    }
+
+    private UltimoLoginService crearServicio(boolean escrituraDiferida) {
+        return new UltimoLoginService(jdbcTemplate, entityManagerFactory, meterRegistry, planificador,
+                escrituraDiferida, MAXIMO_PENDIENTES, 500);
+    }
+
+    private double pendientes() {
+        return meterRegistry.get("usuarios.ultimo-login.pendientes").gauge().value();
+    }
+}
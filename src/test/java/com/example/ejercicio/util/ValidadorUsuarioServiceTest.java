@@ -0,0 +1,75 @@
+package com.example.ejercicio.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comprueba que el verificador de contraseñas de una sola pasada acepta exactamente lo mismo que
+ * PASSWORD_REGEX_POR_DEFECTO, que es la regla que reemplaza.
+ */
+class ValidadorUsuarioServiceTest {
+
+    // Alfabeto de las entradas aleatorias: clases exigidas, espacios, terminadores y un carácter suplementario.
+    private static final String ALFABETO = "aZ9@#!xY1 \t\n\r\u0085\u2028-_.\u00e9";
+    private static final String SUPLEMENTARIO = "\uD83D\uDE00";
+    private static final int CASOS = 200_000;
+    // Semilla fija para que un fallo sea reproducible; -PsemillaValidador=N explora otras secuencias.
+    private static final long SEMILLA = Long.getLong("validador.semilla", 42L);
+
+    private static final Pattern PATRON = Pattern.compile(ValidadorUsuarioService.PASSWORD_REGEX_POR_DEFECTO);
+
+    @Test
+    void verificadorCoincideConLaExpresionEnEntradasAleatorias() {
+        Random aleatorio = new Random(SEMILLA);
+        for (int i = 0; i < CASOS; i++) {
+            StringBuilder entrada = new StringBuilder();
+            int largo = aleatorio.nextInt(14);
+            for (int j = 0; j < largo; j++) {
+                if (aleatorio.nextInt(30) == 0) {
+                    entrada.append(SUPLEMENTARIO);
+                } else {
+                    entrada.append(ALFABETO.charAt(aleatorio.nextInt(ALFABETO.length())));
+                }
+            }
+            comparar(entrada.toString(), "semilla " + SEMILLA);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Clave#2024", "Clave#20", "Clave#2", "clave#2024", "CLAVE#2024", "Clave2024",
+            "ClaveX#abc", "Clave #2024", "Clave#2024\n", "Clave#2024\r\n", "\nClave#2024", "Clave#2024\u0085",
+            "Clave#2024\u2028", "Clave#2024\t", "Cl\u00e9ve#2024", "Clave#2\uD83D\uDE00", "Ab1!\uD83D\uDE00\uD83D\uDE00"})
+    void verificadorCoincideConLaExpresionEnCasosLimite(String password) {
+        comparar(password, "caso límite");
+    }
+
+    @Test
+    void expresionConfiguradaEsLaPorDefecto() throws IOException {
+        // Si application.properties cambia la expresión, la aplicación deja de usar el verificador de una pasada.
+        Properties propiedades = new Properties();
+        try (InputStream entrada = getClass().getResourceAsStream("/application.properties")) {
+            propiedades.load(entrada);
+        }
+        assertEquals(ValidadorUsuarioService.PASSWORD_REGEX_POR_DEFECTO, propiedades.getProperty("password.regex"));
+    }
+
+    private static void comparar(String password, String origen) {
+        assertEquals(PATRON.matcher(password).matches(), ValidadorUsuarioService.passwordValidaUnaPasada(password),
+                () -> "El verificador difiere de la expresión (" + origen + ") para: " + escapar(password));
+    }
+
+    private static String escapar(String texto) {
+        StringBuilder escapado = new StringBuilder();
+        texto.codePoints().forEach(c -> escapado.append(c >= 0x20 && c < 0x7f ? Character.toString(c) : String.format("\\u{%x}", c)));
+        return escapado.toString();
+    }
+}
@@ -0,0 +1,22 @@
+-- Esquema de la réplica separada de EnrutamientoReplicaTest. La primaria la crea Hibernate; esta base solo recibe
+-- las filas que la prueba copia, de modo que una lectura enviada al lado equivocado devuelve otros datos.
+CREATE TABLE IF NOT EXISTS usuario (
+    id UUID PRIMARY KEY,
+    nombre VARCHAR(255),
+    correo VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    activo BOOLEAN NOT NULL,
+    generacion_token BIGINT NOT NULL,
+    creado TIMESTAMP(6),
+    modificado TIMESTAMP(6),
+    ultimo_login TIMESTAMP(6),
+    version BIGINT
+);
+CREATE TABLE IF NOT EXISTS telefono (
+    id UUID PRIMARY KEY,
+    numero VARCHAR(255),
+    codigo_ciudad VARCHAR(255),
+    codigo_pais VARCHAR(255),
+    clave_normalizada VARCHAR(255),
+    user_id UUID REFERENCES usuario (id)
+);